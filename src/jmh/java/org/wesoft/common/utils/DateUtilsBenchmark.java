@@ -0,0 +1,87 @@
+package org.wesoft.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtils 格式化及解析吞吐量基准测试，与每次调用新建 SimpleDateFormat 的原实现对比
+ * <p>
+ * 多线程对比时追加 -t 参数，如 -t 8
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 19:12
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    private static final int SIZE = 1024;
+
+    /**
+     * 前三个为定宽格式快速路径，最后一个走缓存的 DateTimeFormatter
+     */
+    @Param({"yyyy-MM-dd", "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd HH:mm:ss.SSS"})
+    private String pattern;
+
+    private final Date[] dates = new Date[SIZE];
+    private final String[] texts = new String[SIZE];
+    private int index;
+
+    @Setup
+    public void setup() {
+        long base = 1600000000000L;
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        for (int i = 0; i < SIZE; i++) {
+            dates[i] = new Date(base + i * 37L * 60 * 1000 + i);
+            texts[i] = format.format(dates[i]);
+        }
+        // parseDate 失败时返回 null，先确认两种实现结果一致
+        if (!texts[1].equals(DateUtils.format(dates[1], pattern))
+                || DateUtils.parseDate(texts[1], pattern) == null) {
+            throw new IllegalStateException("DateUtils disagrees with SimpleDateFormat for " + pattern);
+        }
+    }
+
+    @Benchmark
+    public String formatSimpleDateFormat() {
+        return new SimpleDateFormat(pattern).format(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatDateUtils() {
+        return DateUtils.format(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public Date parseSimpleDateFormat() throws ParseException {
+        return new SimpleDateFormat(pattern).parse(texts[next()]);
+    }
+
+    @Benchmark
+    public Date parseDateUtils() {
+        return DateUtils.parseDate(texts[next()], pattern);
+    }
+
+    private int next() {
+        return index++ & (SIZE - 1);
+    }
+}
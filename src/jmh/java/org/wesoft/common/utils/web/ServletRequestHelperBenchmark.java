@@ -0,0 +1,130 @@
+package org.wesoft.common.utils.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 过滤器中逐请求调用的辅助方法基准测试：客户端 IP 解析及请求参数拼接
+ * <p>
+ * 请求为动态代理实现，各方法承担相同的代理调用开销
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 19:06
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServletRequestHelperBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ClientIpState {
+
+        /**
+         * direct：无代理直连；proxied：经两层内网代理；spoofed：客户端自带伪造的 X-Forwarded-For；ipv6：IPv6 客户端经内网代理
+         */
+        @Param({"direct", "proxied", "spoofed", "ipv6"})
+        private String chain;
+
+        private final ServletRequestHelper helper = ServletRequestHelper.builder().build();
+
+        private HttpServletRequest request;
+
+        @Setup
+        public void setup() {
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            String remoteAddr;
+            switch (chain) {
+                case "direct":
+                    remoteAddr = "203.0.113.7";
+                    break;
+                case "proxied":
+                    remoteAddr = "10.0.0.1";
+                    headers.put("X-Forwarded-For", "203.0.113.7, 10.0.1.2");
+                    break;
+                case "spoofed":
+                    remoteAddr = "10.0.0.1";
+                    headers.put("X-Forwarded-For", "127.0.0.1, 198.51.100.23, 203.0.113.7, 10.0.1.2");
+                    break;
+                case "ipv6":
+                    remoteAddr = "10.0.0.1";
+                    headers.put("X-Forwarded-For", "[2001:db8::7]:51234, 10.0.1.2");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown chain: " + chain);
+            }
+            request = mockRequest(remoteAddr, headers, Collections.emptyMap());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParameterState {
+
+        private HttpServletRequest request;
+
+        @Setup
+        public void setup() {
+            Map<String, String[]> parameters = new LinkedHashMap<>();
+            parameters.put("page", new String[]{"3"});
+            parameters.put("size", new String[]{"20"});
+            parameters.put("sort", new String[]{"createTime"});
+            parameters.put("keyword", new String[]{"wesoft"});
+            request = mockRequest("203.0.113.7", Collections.emptyMap(), parameters);
+        }
+    }
+
+    @Benchmark
+    public String getIpAddress(ClientIpState state) {
+        return HttpUtils.getIpAddress(state.request);
+    }
+
+    @Benchmark
+    public String getClientIp(ClientIpState state) {
+        return state.helper.getClientIp(state.request);
+    }
+
+    @Benchmark
+    public String getRequestParameterStr(ParameterState state) {
+        return HttpUtils.getRequestParameterStr(state.request);
+    }
+
+    private static HttpServletRequest mockRequest(String remoteAddr, Map<String, String> headers, Map<String, String[]> parameters) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getRemoteAddr":
+                            return remoteAddr;
+                        case "getHeader":
+                            return headers.get((String) args[0]);
+                        case "getHeaders":
+                            String value = headers.get((String) args[0]);
+                            List<String> values = value == null ? Collections.emptyList() : Collections.singletonList(value);
+                            return Collections.enumeration(values);
+                        case "getParameterMap":
+                            return parameters;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
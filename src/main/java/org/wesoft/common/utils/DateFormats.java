@@ -0,0 +1,297 @@
+package org.wesoft.common.utils;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按格式缓存的日期格式化及解析
+ * <p>
+ * DateTimeFormatter 不可变且线程安全，按格式缓存后各线程共用，不再每次调用创建 SimpleDateFormat。
+ * 格式及输出均与 SimpleDateFormat 保持一致：两者含义不同的格式字母（如 S、u、w、yy 的解析等）、
+ * 1900 年之前、9999 年之后的日期以及使用本地化数字格式的地区仍使用 SimpleDateFormat；
+ * 解析采用宽松模式，DateTimeFormatter 无法解析的输入（如 2020-1-5）再交给 SimpleDateFormat，
+ * 与原有的宽松解析结果相同；常用的定长格式由 {@link FixedDateFormat} 直接处理
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:28
+ */
+final class DateFormats {
+
+    static final String DEFAULT_PATTERN = "yyyy-MM-dd HH:mm";
+
+    /** 缓存的格式数上限，超过后清空，格式通常为代码中的常量 */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * 使用 DateTimeFormatter 的时间范围 [1900-01-02, 9999-12-31)：
+     * 更早的日期两者的时区偏移（地方平时）及历法（儒略历）不同，五位数的年份 DateTimeFormatter 会加上 + 号
+     */
+    private static final long MIN_MILLIS = -2208902400000L;
+    private static final long MAX_MILLIS = 253402214400000L;
+
+    /** 与 SimpleDateFormat 的格式化、解析结果一致 */
+    private static final int FORMAT = 1;
+    private static final int PARSE = 2;
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private DateFormats() {
+    }
+
+    /**
+     * 格式化
+     *
+     * @param millis  时间戳
+     * @param pattern SimpleDateFormat 格式
+     * @return String
+     * @throws IllegalArgumentException 格式不合法
+     */
+    static String format(long millis, String pattern) {
+        Entry entry = entry(pattern);
+        if (entry.fixedLength != 0) {
+            String text = FixedDateFormat.format(millis, entry.fixedLength, TimeZone.getDefault());
+            if (text != null) {
+                return text;
+            }
+        }
+        if (entry.formatter == null || millis < MIN_MILLIS || millis >= MAX_MILLIS) {
+            return new SimpleDateFormat(pattern).format(new Date(millis));
+        }
+        return entry.formatter.format(Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * 解析，失败时返回包含原因的结果
+     *
+     * @param text    字符串
+     * @param pattern SimpleDateFormat 格式
+     * @return DateParseResult
+     * @throws IllegalArgumentException 格式不合法
+     */
+    static DateParseResult parse(String text, String pattern) {
+        Entry entry = entry(pattern);
+        if (entry.fixedLength != 0) {
+            Date date = FixedDateFormat.parse(text, entry.fixedLength, TimeZone.getDefault());
+            if (date != null) {
+                return DateParseResult.success(date);
+            }
+        }
+        if (entry.parser != null) {
+            Date date = parse(entry.parser, text);
+            if (date != null) {
+                return DateParseResult.success(date);
+            }
+        }
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        ParsePosition position = new ParsePosition(0);
+        Date date = format.parse(text, position);
+        if (date == null) {
+            return DateParseResult.failure(position.getErrorIndex(), "Unparseable date: \"" + text + "\"");
+        }
+        return DateParseResult.success(date);
+    }
+
+    /**
+     * 与 SimpleDateFormat.parse(String) 相同，不要求解析到字符串末尾
+     *
+     * @return 无法解析或需要交给 SimpleDateFormat 时返回 null
+     */
+    private static Date parse(DateTimeFormatter parser, String text) {
+        TemporalAccessor parsed;
+        ParsePosition position = new ParsePosition(0);
+        try {
+            parsed = parser.parse(text, position);
+        } catch (DateTimeException e) {
+            return null;
+        }
+        // SimpleDateFormat 中最后一个数字字段不限位数，会继续读取之后的数字
+        int end = position.getIndex();
+        if (end < text.length() && Character.isDigit(text.charAt(end))) {
+            return null;
+        }
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            return null;
+        }
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        LocalDateTime dateTime = time != null ? date.atTime(time) : date.atStartOfDay();
+        ZoneOffset offset = parsed.query(TemporalQueries.offset());
+        try {
+            // 夏令时结束时重复的本地时间与 SimpleDateFormat 相同，取较晚的偏移（标准时间）
+            long millis = (offset != null ? dateTime.toInstant(offset)
+                    : dateTime.atZone(ZoneId.systemDefault()).withLaterOffsetAtOverlap().toInstant()).toEpochMilli();
+            return millis < MIN_MILLIS || millis >= MAX_MILLIS ? null : new Date(millis);
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * DateTimeFormatter 格式，用于 LocalDateTime 等 java.time 类型
+     *
+     * @param pattern DateTimeFormatter 格式
+     * @return DateTimeFormatter
+     * @throws IllegalArgumentException 格式不合法
+     */
+    static DateTimeFormatter formatter(String pattern) {
+        Entry entry = entry(pattern);
+        return entry.pattern != null ? entry.pattern : DateTimeFormatter.ofPattern(pattern);
+    }
+
+    private static Entry entry(String pattern) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Entry entry = CACHE.get(pattern);
+        if (entry != null && (entry.locale == locale || entry.locale.equals(locale))) {
+            return entry;
+        }
+        entry = new Entry(pattern, locale);
+        if (CACHE.size() >= MAX_ENTRIES) {
+            CACHE.clear();
+        }
+        CACHE.put(pattern, entry);
+        return entry;
+    }
+
+    private static class Entry {
+        private final Locale locale;
+        /** 按 DateTimeFormatter 规则解析的格式，不合法时为 null */
+        private final DateTimeFormatter pattern;
+        /** 与 SimpleDateFormat 输出一致时用于格式化，否则为 null */
+        private final DateTimeFormatter formatter;
+        /** 与 SimpleDateFormat 解析结果一致时用于解析，否则为 null */
+        private final DateTimeFormatter parser;
+        /** 定长格式的长度，不是定长格式时为 0 */
+        private final int fixedLength;
+
+        private Entry(String pattern, Locale locale) {
+            this.locale = locale;
+            DateTimeFormatter formatter;
+            try {
+                formatter = DateTimeFormatter.ofPattern(pattern, locale);
+            } catch (IllegalArgumentException e) {
+                formatter = null;
+            }
+            this.pattern = formatter;
+            boolean plainNumberFormat = isPlainNumberFormat(locale);
+            int compatibility = formatter != null && plainNumberFormat ? compatibility(pattern) : 0;
+            this.formatter = (compatibility & FORMAT) != 0 ? formatter : null;
+            this.parser = (compatibility & PARSE) != 0 ? formatter.withResolverStyle(ResolverStyle.LENIENT) : null;
+            this.fixedLength = plainNumberFormat ? FixedDateFormat.length(pattern) : 0;
+        }
+    }
+
+    /**
+     * SimpleDateFormat 按地区的数字格式输出及解析数值，只有使用 ASCII 数字、负号为前缀 - 时与 DateTimeFormatter 相同
+     */
+    private static boolean isPlainNumberFormat(Locale locale) {
+        NumberFormat numberFormat = NumberFormat.getIntegerInstance(locale);
+        if (!(numberFormat instanceof DecimalFormat)) {
+            return false;
+        }
+        DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+        return decimalFormat.getDecimalFormatSymbols().getZeroDigit() == '0'
+                && "-".equals(decimalFormat.getNegativePrefix()) && decimalFormat.getNegativeSuffix().isEmpty();
+    }
+
+    /**
+     * 判断格式在 SimpleDateFormat 与 DateTimeFormatter 中的含义是否相同
+     * <p>
+     * 解析时要求包含年（至少 3 位，2 位年份在两者中的世纪推算不同）、月、日，时间只允许 H、m、s、SSS 及时区偏移
+     *
+     * @return FORMAT、PARSE 的组合
+     */
+    private static int compatibility(String pattern) {
+        boolean format = true;
+        boolean parse = true;
+        int dateFields = 0;
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return 0;
+                }
+                i = end + 1;
+                continue;
+            }
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                // DateTimeFormatter 中的可选段及保留字符
+                if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                    return 0;
+                }
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < length && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            switch (c) {
+                case 'y':
+                    dateFields |= 1;
+                    parse &= count >= 3;
+                    break;
+                case 'M':
+                    dateFields |= 2;
+                    format &= count <= 4;
+                    parse &= count <= 2;
+                    break;
+                case 'd':
+                    dateFields |= 4;
+                    break;
+                case 'H':
+                case 'm':
+                case 's':
+                    break;
+                case 'S':
+                    // SimpleDateFormat 中为毫秒数，DateTimeFormatter 中为秒的小数部分，只有 3 位时相同
+                    if (count != 3) {
+                        return 0;
+                    }
+                    break;
+                case 'Z':
+                case 'X':
+                    if (count > 3) {
+                        return 0;
+                    }
+                    break;
+                case 'E':
+                    format &= count <= 4;
+                    parse = false;
+                    break;
+                case 'a':
+                case 'h':
+                case 'k':
+                case 'K':
+                case 'D':
+                    parse = false;
+                    break;
+                default:
+                    return 0;
+            }
+            i += count;
+        }
+        return (format ? FORMAT : 0) | (format && parse && dateFields == 7 ? PARSE : 0);
+    }
+}
@@ -0,0 +1,42 @@
+package org.wesoft.common.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 日期解析结果，解析失败时包含失败的原因及位置，不抛出异常
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:28
+ */
+@Getter
+@AllArgsConstructor
+public class DateParseResult {
+
+    /** 解析得到的日期，失败时为 null */
+    private final Date date;
+    /** 解析失败的位置，成功时为 -1 */
+    private final int errorIndex;
+    /** 解析失败的原因，成功时为 null */
+    private final String message;
+
+    static DateParseResult success(Date date) {
+        return new DateParseResult(date, -1, null);
+    }
+
+    static DateParseResult failure(int errorIndex, String message) {
+        return new DateParseResult(null, errorIndex, message);
+    }
+
+    public boolean isSuccess() {
+        return date != null;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "[date: " + date + "]" : "[errorIndex: " + errorIndex + "; message: " + message + "]";
+    }
+}
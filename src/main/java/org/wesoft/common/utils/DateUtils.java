@@ -4,12 +4,9 @@ import org.ocpsoft.prettytime.PrettyTime;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -44,29 +41,34 @@ public class DateUtils {
      *
      * @param strDate 开始事件
      * @param pattern 日志格式
+     * @return 解析失败时返回 null，需要失败原因时使用 {@link #tryParseDate(String, String)}
      */
     public static Date parseDate(String strDate, String... pattern) {
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (pattern != null && pattern.length > 0) {
             myPattern = pattern[0];
         }
 
-        SimpleDateFormat sdf = new SimpleDateFormat(myPattern);
-
-        Date formatDate = null;
-
         if (StringUtils.isEmpty(strDate)) {
-            return formatDate;
+            return null;
         }
 
-        try {
-            formatDate = sdf.parse(strDate);
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
+        return DateFormats.parse(strDate, myPattern).getDate();
+    }
 
-        return formatDate;
+    /**
+     * 解析字符串日期，失败时返回包含原因的结果
+     *
+     * @param strDate 日期
+     * @param pattern 日期格式，为空时为 yyyy-MM-dd HH:mm
+     * @return DateParseResult
+     */
+    public static DateParseResult tryParseDate(String strDate, String pattern) {
+        if (StringUtils.isEmpty(strDate)) {
+            return DateParseResult.failure(0, "Empty date");
+        }
+        return DateFormats.parse(strDate, StringUtils.isEmpty(pattern) ? DateFormats.DEFAULT_PATTERN : pattern);
     }
 
     /**
@@ -153,6 +155,31 @@ public class DateUtils {
 
     }
 
+    /**
+     * 获取星期几，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     * @return 0 为星期日，1 - 6 为星期一至星期六
+     */
+    public static int getWeek(long epochMillis, ZoneId zone) {
+        return EpochDays.dayOfWeek(getEpochDay(epochMillis, zone));
+    }
+
+    /**
+     * 获取本地日期的纪元日（1970-01-01 起的天数），按天分组时使用，不创建对象
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static long getEpochDay(long epochMillis, ZoneId zone) {
+        return Math.floorDiv(epochMillis + ZoneOffsetCache.of(zone).getOffset(epochMillis), EpochDays.MILLIS_PER_DAY);
+    }
+
+    private static int getMillisOfDay(long epochMillis, ZoneId zone) {
+        return (int) Math.floorMod(epochMillis + ZoneOffsetCache.of(zone).getOffset(epochMillis), EpochDays.MILLIS_PER_DAY);
+    }
+
     /**
      * 获取当前小时（24小时制）
      *
@@ -164,6 +191,16 @@ public class DateUtils {
         return cal.get(Calendar.HOUR_OF_DAY);
     }
 
+    /**
+     * 获取当前小时（24小时制），不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static int getHour(long epochMillis, ZoneId zone) {
+        return getMillisOfDay(epochMillis, zone) / 3600000;
+    }
+
     /**
      * 获取当前分钟
      *
@@ -175,6 +212,16 @@ public class DateUtils {
         return cal.get(Calendar.MINUTE);
     }
 
+    /**
+     * 获取当前分钟，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static int getMinute(long epochMillis, ZoneId zone) {
+        return getMillisOfDay(epochMillis, zone) / 60000 % 60;
+    }
+
     /**
      * 获取当前秒
      *
@@ -186,6 +233,16 @@ public class DateUtils {
         return cal.get(Calendar.SECOND);
     }
 
+    /**
+     * 获取当前秒，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static int getSecond(long epochMillis, ZoneId zone) {
+        return getMillisOfDay(epochMillis, zone) / 1000 % 60;
+    }
+
     /**
      * 获取当前毫秒
      *
@@ -209,6 +266,16 @@ public class DateUtils {
         return cal.get(Calendar.YEAR);
     }
 
+    /**
+     * 获取日期的年，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static int getYear(long epochMillis, ZoneId zone) {
+        return (int) EpochDays.year(EpochDays.toDate(getEpochDay(epochMillis, zone)));
+    }
+
     /**
      * 获取日期的月
      *
@@ -220,6 +287,17 @@ public class DateUtils {
         return cal.get(Calendar.MONTH) + 1;
     }
 
+    /**
+     * 获取日期的月，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     * @return 1 - 12
+     */
+    public static int getMonth(long epochMillis, ZoneId zone) {
+        return EpochDays.month(EpochDays.toDate(getEpochDay(epochMillis, zone)));
+    }
+
     /**
      * 获取日期的日
      *
@@ -231,6 +309,16 @@ public class DateUtils {
         return cal.get(Calendar.DATE);
     }
 
+    /**
+     * 获取日期的日，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static int getDate(long epochMillis, ZoneId zone) {
+        return EpochDays.day(EpochDays.toDate(getEpochDay(epochMillis, zone)));
+    }
+
     /**
      * 是否上午
      *
@@ -253,6 +341,16 @@ public class DateUtils {
         return isAm;
     }
 
+    /**
+     * 是否上午，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static boolean isAM(long epochMillis, ZoneId zone) {
+        return getHour(epochMillis, zone) < 12;
+    }
+
     /**
      * 是否下午
      *
@@ -275,15 +373,24 @@ public class DateUtils {
         return isPm;
     }
 
+    /**
+     * 是否下午（12 - 18 时），不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     */
+    public static boolean isPM(long epochMillis, ZoneId zone) {
+        int hours = getHour(epochMillis, zone);
+        return hours >= 12 && hours < 18;
+    }
+
     /**
      * 今天
      *
      * @param pattern 日期格式
      */
     public static String getToday(String pattern) {
-        Date currentDate = new Date();
-        SimpleDateFormat sf = new SimpleDateFormat(pattern);
-        return sf.format(currentDate);
+        return DateFormats.format(System.currentTimeMillis(), pattern);
     }
 
     /**
@@ -343,6 +450,21 @@ public class DateUtils {
         return cal.getTime();
     }
 
+    /**
+     * 指定时间所在小时的开始时间，按小时分组时使用，不创建对象
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     * @return 时间戳
+     */
+    public static long getSharpHour(long epochMillis, ZoneId zone) {
+        ZoneOffsetCache offsets = ZoneOffsetCache.of(zone);
+        int offset = offsets.getOffset(epochMillis);
+        long sharpHour = epochMillis - Math.floorMod(epochMillis + offset, EpochDays.MILLIS_PER_HOUR);
+        // 与 ZonedDateTime.truncatedTo 相同，整点与当前时间的偏移不同（夏令时切换）时按整点的本地时间换算
+        return offsets.getOffset(sharpHour) == offset ? sharpHour : offsets.toEpochMillis(sharpHour + offset);
+    }
+
     /**
      * 开始日期
      *
@@ -371,6 +493,18 @@ public class DateUtils {
         return getStartDate(cal, offset);
     }
 
+    /**
+     * 开始日期，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     * @param offset      偏移量，单位：天
+     * @return 偏移后的日期当天的开始时间，与 LocalDate.atStartOfDay(zone) 相同
+     */
+    public static long getStartDate(long epochMillis, ZoneId zone, int offset) {
+        return ZoneOffsetCache.of(zone).startOfDay(getEpochDay(epochMillis, zone) + offset);
+    }
+
     /**
      * 结束日期
      *
@@ -396,6 +530,18 @@ public class DateUtils {
         return getEndDate(cal, offset);
     }
 
+    /**
+     * 结束日期，不创建 Calendar
+     *
+     * @param epochMillis 时间戳
+     * @param zone        时区
+     * @param offset      偏移量，单位：天
+     * @return 偏移后的日期当天的最后一毫秒，即次日开始时间减 1 毫秒
+     */
+    public static long getEndDate(long epochMillis, ZoneId zone, int offset) {
+        return ZoneOffsetCache.of(zone).startOfDay(getEpochDay(epochMillis, zone) + offset + 1) - 1;
+    }
+
     /**
      * 格式化
      *
@@ -403,7 +549,7 @@ public class DateUtils {
      * @param pattern 格式
      */
     public static String format(Date date, String pattern) {
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (date == null) {
             return null;
@@ -413,8 +559,7 @@ public class DateUtils {
             myPattern = pattern;
         }
 
-        SimpleDateFormat df = new SimpleDateFormat(myPattern);
-        return df.format(date);
+        return DateFormats.format(date.getTime(), myPattern);
     }
 
     /**
@@ -424,7 +569,7 @@ public class DateUtils {
      * @param pattern 格式
      */
     public static String format(Date date, String... pattern) {
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (date == null) {
             return null;
@@ -434,8 +579,7 @@ public class DateUtils {
             myPattern = pattern[0];
         }
 
-        SimpleDateFormat df = new SimpleDateFormat(myPattern);
-        return df.format(date);
+        return DateFormats.format(date.getTime(), myPattern);
     }
 
     /**
@@ -445,7 +589,7 @@ public class DateUtils {
      * @param pattern 格式
      */
     public static String format(Timestamp date, String pattern) {
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (date == null) {
             return null;
@@ -455,8 +599,7 @@ public class DateUtils {
             myPattern = pattern;
         }
 
-        SimpleDateFormat df = new SimpleDateFormat(myPattern);
-        return df.format(date);
+        return DateFormats.format(date.getTime(), myPattern);
     }
 
     /**
@@ -466,7 +609,7 @@ public class DateUtils {
      * @param pattern 格式
      */
     public static String format(Timestamp date, String... pattern) {
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (date == null) {
             return null;
@@ -476,8 +619,7 @@ public class DateUtils {
             myPattern = pattern[0];
         }
 
-        SimpleDateFormat df = new SimpleDateFormat(myPattern);
-        return df.format(date);
+        return DateFormats.format(date.getTime(), myPattern);
     }
 
     /**
@@ -486,14 +628,12 @@ public class DateUtils {
      * @param pattern 格式
      */
     public static String formatCurrDate(String pattern) {
-        Date currentDate = new Date();
-        String myPattern = "yyyy-MM-dd HH:mm";
+        String myPattern = DateFormats.DEFAULT_PATTERN;
 
         if (pattern != null && pattern.length() > 0) {
             myPattern = pattern;
         }
-        SimpleDateFormat sf = new SimpleDateFormat(myPattern);
-        return sf.format(currentDate);
+        return DateFormats.format(System.currentTimeMillis(), myPattern);
     }
 
     /**
@@ -519,8 +659,7 @@ public class DateUtils {
             amPm = "晚上";
         }
 
-        SimpleDateFormat df = new SimpleDateFormat(myPattern);
-        return df.format(date) + " " + amPm;
+        return DateFormats.format(date.getTime(), myPattern) + " " + amPm;
     }
 
     /**
@@ -708,8 +847,7 @@ public class DateUtils {
      * @param localDateTime 日期
      */
     public static String formatLocalDateTime(LocalDateTime localDateTime, String format) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format == null ? "yyyy-MM-dd HH:mm:ss" : format);
-        return localDateTime.format(formatter);
+        return localDateTime.format(DateFormats.formatter(format == null ? "yyyy-MM-dd HH:mm:ss" : format));
     }
 
     /**
@@ -0,0 +1,90 @@
+package org.wesoft.common.utils;
+
+/**
+ * 纪元日（1970-01-01 起的天数）与年月日之间的换算，按 ISO 历法（与 java.time 相同）以整数运算完成
+ * <p>
+ * 年月日打包为一个 long：年 &lt;&lt; 9 | 月 &lt;&lt; 5 | 日，避免创建对象
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:35
+ */
+final class EpochDays {
+
+    static final long MILLIS_PER_DAY = 86400000L;
+    static final long MILLIS_PER_HOUR = 3600000L;
+
+    /** 0000-03-01 至 1970-01-01 的天数 */
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private EpochDays() {
+    }
+
+    /**
+     * 纪元日对应的年月日
+     *
+     * @param epochDay 纪元日
+     * @return 打包的年月日，使用 {@link #year(long)}、{@link #month(long)}、{@link #day(long)} 读取
+     */
+    static long toDate(long epochDay) {
+        // 以 3 月 1 日为一年的开始，闰日位于年末
+        long days = epochDay + DAYS_0000_TO_1970;
+        long cycle = Math.floorDiv(days, DAYS_PER_CYCLE);
+        int dayOfCycle = (int) (days - cycle * DAYS_PER_CYCLE);
+        int yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        int dayOfYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = cycle * 400 + yearOfCycle + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    static long year(long date) {
+        return date >> 9;
+    }
+
+    static int month(long date) {
+        return (int) (date >> 5 & 0xf);
+    }
+
+    static int day(long date) {
+        return (int) (date & 0x1f);
+    }
+
+    /**
+     * 年月日对应的纪元日
+     *
+     * @param year  年
+     * @param month 月，1 - 12
+     * @param day   日
+     * @return long
+     */
+    static long toEpochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long cycle = Math.floorDiv(y, 400);
+        int yearOfCycle = (int) (y - cycle * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfYear;
+        return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 星期几，与 {@link DateUtils#getWeek(java.util.Date)} 相同
+     *
+     * @param epochDay 纪元日
+     * @return 0 为星期日，1 - 6 为星期一至星期六
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 为星期四
+        return (int) Math.floorMod(epochDay + 4, 7);
+    }
+
+    static int lengthOfMonth(long year, int month) {
+        if (month == 2) {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+}
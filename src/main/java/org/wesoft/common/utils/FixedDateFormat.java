@@ -0,0 +1,171 @@
+package org.wesoft.common.utils;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * 定长日期格式 yyyy-MM-dd、yyyy-MM-dd HH:mm、yyyy-MM-dd HH:mm:ss 的格式化及解析
+ * <p>
+ * 以 {@link EpochDays} 换算日期并写入线程复用的 char[]，不创建格式化对象及 Calendar；时区偏移取自与 SimpleDateFormat 相同的 TimeZone，
+ * 结果与 SimpleDateFormat 一致。只处理 1900 至 9999 年之间的日期，解析时只处理各字段均在有效范围内、
+ * 且前后一天内没有时区偏移变化（夏令时切换）的输入，其余情况返回 null，由调用者按通用格式处理
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:31
+ */
+final class FixedDateFormat {
+
+    static final int DATE = 10;
+    static final int DATE_MINUTE = 16;
+    static final int DATE_SECOND = 19;
+
+    private static final long MILLIS_PER_DAY = EpochDays.MILLIS_PER_DAY;
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 9999;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[DATE_SECOND]);
+
+    private FixedDateFormat() {
+    }
+
+    /**
+     * 定长格式的长度
+     *
+     * @param pattern 格式
+     * @return 不是定长格式时返回 0
+     */
+    static int length(String pattern) {
+        switch (pattern) {
+            case "yyyy-MM-dd":
+                return DATE;
+            case "yyyy-MM-dd HH:mm":
+                return DATE_MINUTE;
+            case "yyyy-MM-dd HH:mm:ss":
+                return DATE_SECOND;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 格式化
+     *
+     * @param millis 时间戳
+     * @param length 格式的长度
+     * @param zone   时区
+     * @return 年份超出范围时返回 null
+     */
+    static String format(long millis, int length, TimeZone zone) {
+        long local = millis + zone.getOffset(millis);
+        long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+        long date = EpochDays.toDate(epochDay);
+        long year = EpochDays.year(date);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return null;
+        }
+
+        char[] buffer = BUFFER.get();
+        int value = (int) year;
+        buffer[0] = (char) ('0' + value / 1000);
+        buffer[1] = (char) ('0' + value / 100 % 10);
+        buffer[2] = (char) ('0' + value / 10 % 10);
+        buffer[3] = (char) ('0' + value % 10);
+        buffer[4] = '-';
+        writeTwoDigits(buffer, 5, EpochDays.month(date));
+        buffer[7] = '-';
+        writeTwoDigits(buffer, 8, EpochDays.day(date));
+        if (length > DATE) {
+            int secondOfDay = millisOfDay / 1000;
+            buffer[10] = ' ';
+            writeTwoDigits(buffer, 11, secondOfDay / 3600);
+            buffer[13] = ':';
+            writeTwoDigits(buffer, 14, secondOfDay / 60 % 60);
+            if (length > DATE_MINUTE) {
+                buffer[16] = ':';
+                writeTwoDigits(buffer, 17, secondOfDay % 60);
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * 解析，与 SimpleDateFormat 相同，忽略格式之后的内容
+     *
+     * @param text   字符串
+     * @param length 格式的长度
+     * @param zone   时区
+     * @return 不符合定长格式、字段超出范围或位于时区偏移变化附近时返回 null
+     */
+    static Date parse(String text, int length, TimeZone zone) {
+        // SimpleDateFormat 中最后一个数字字段不限位数，之后紧跟数字时交给通用格式
+        if (text.length() < length || text.length() > length && isDigit(text.charAt(length))) {
+            return null;
+        }
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 2);
+        int day = parseDigits(text, 8, 2);
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            return null;
+        }
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (length > DATE) {
+            if (text.charAt(10) != ' ' || text.charAt(13) != ':') {
+                return null;
+            }
+            hour = parseDigits(text, 11, 2);
+            minute = parseDigits(text, 14, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return null;
+            }
+            if (length > DATE_MINUTE) {
+                if (text.charAt(16) != ':') {
+                    return null;
+                }
+                second = parseDigits(text, 17, 2);
+                if (second < 0 || second > 59) {
+                    return null;
+                }
+            }
+        }
+        long local = EpochDays.toEpochDay(year, month, day) * MILLIS_PER_DAY + (hour * 3600 + minute * 60 + second) * 1000L;
+        int offset = zone.getOffset(local - zone.getRawOffset());
+        long millis = local - offset;
+        // 本地时间重复或不存在时，由通用格式按 SimpleDateFormat 的规则处理
+        if (zone.getOffset(millis) != offset || zone.getOffset(millis - MILLIS_PER_DAY) != offset
+                || zone.getOffset(millis + MILLIS_PER_DAY) != offset) {
+            return null;
+        }
+        return new Date(millis);
+    }
+
+    /**
+     * @return 包含非数字字符时返回 -1
+     */
+    private static int parseDigits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -0,0 +1,156 @@
+package org.wesoft.common.utils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按天缓存时区偏移
+ * <p>
+ * 每个时区按 UTC 日缓存当天开始时的偏移及当天内的偏移变化（夏令时切换），命中缓存时换算不创建对象；
+ * 固定偏移的时区不查询规则。本地时间与时间戳的换算规则与 java.time 相同：重复的本地时间取较早的偏移，
+ * 不存在的本地时间按偏移变化的长度后移
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:35
+ */
+final class ZoneOffsetCache {
+
+    /** 缓存的时区数上限，超过后清空 */
+    private static final int MAX_ZONES = 64;
+    /** 每个时区缓存的天数，按纪元日直接映射，相距不足 1024 天的日期互不替换 */
+    private static final int DAYS = 1024;
+    /** 偏移的范围为 ±18 小时 */
+    private static final long MAX_OFFSET_MILLIS = 18 * EpochDays.MILLIS_PER_HOUR;
+
+    private static final Map<ZoneId, ZoneOffsetCache> CACHES = new ConcurrentHashMap<>();
+
+    private final ZoneRules rules;
+    /** 固定偏移的时区为 true，此时 fixedOffset 有效且不使用 days */
+    private final boolean fixed;
+    private final int fixedOffset;
+    private final Day[] days = new Day[DAYS];
+
+    private ZoneOffsetCache(ZoneId zone) {
+        this.rules = zone.getRules();
+        this.fixed = rules.isFixedOffset();
+        this.fixedOffset = fixed ? offsetMillis(rules.getOffset(Instant.EPOCH).getTotalSeconds()) : 0;
+    }
+
+    static ZoneOffsetCache of(ZoneId zone) {
+        ZoneOffsetCache cache = CACHES.get(zone);
+        if (cache == null) {
+            if (CACHES.size() >= MAX_ZONES) {
+                CACHES.clear();
+            }
+            cache = CACHES.computeIfAbsent(zone, ZoneOffsetCache::new);
+        }
+        return cache;
+    }
+
+    /**
+     * 时间戳对应的偏移
+     *
+     * @param epochMillis 时间戳
+     * @return 偏移，单位：毫秒
+     */
+    int getOffset(long epochMillis) {
+        if (fixed) {
+            return fixedOffset;
+        }
+        long epochDay = Math.floorDiv(epochMillis, EpochDays.MILLIS_PER_DAY);
+        int index = (int) (epochDay & (DAYS - 1));
+        Day day = days[index];
+        if (day == null || day.epochDay != epochDay) {
+            day = load(epochDay);
+            days[index] = day;
+        }
+        if (day.irregular) {
+            return offsetMillis(rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds());
+        }
+        return epochMillis < day.transition ? day.offsetBefore : day.offsetAfter;
+    }
+
+    /**
+     * 本地时间对应的时间戳，与 ZonedDateTime.of(localDateTime, zone) 相同
+     *
+     * @param localMillis 以 UTC 表示的本地时间
+     * @return 时间戳
+     */
+    long toEpochMillis(long localMillis) {
+        if (fixed) {
+            return localMillis - fixedOffset;
+        }
+        int before = getOffset(localMillis - MAX_OFFSET_MILLIS);
+        if (getOffset(localMillis - before) == before) {
+            return localMillis - before;
+        }
+        int after = getOffset(localMillis + MAX_OFFSET_MILLIS);
+        if (getOffset(localMillis - after) == after) {
+            return localMillis - after;
+        }
+        // 本地时间不存在，后移偏移变化的长度
+        return localMillis - before;
+    }
+
+    /**
+     * 本地日期当天的开始时间，与 LocalDate.atStartOfDay(zone) 相同
+     *
+     * @param epochDay 本地日期的纪元日
+     * @return 时间戳
+     */
+    long startOfDay(long epochDay) {
+        long localMillis = epochDay * EpochDays.MILLIS_PER_DAY;
+        long epochMillis = toEpochMillis(localMillis);
+        if (fixed || epochMillis + getOffset(epochMillis) == localMillis) {
+            return epochMillis;
+        }
+        // 零点不存在时当天从偏移变化的时刻开始
+        ZoneOffsetTransition transition = rules.previousTransition(Instant.ofEpochMilli(epochMillis + 1));
+        return transition != null ? transition.toEpochSecond() * 1000 : epochMillis;
+    }
+
+    private Day load(long epochDay) {
+        long start = epochDay * EpochDays.MILLIS_PER_DAY;
+        long end = start + EpochDays.MILLIS_PER_DAY;
+        Instant instant = Instant.ofEpochMilli(start);
+        int offset = offsetMillis(rules.getOffset(instant).getTotalSeconds());
+        ZoneOffsetTransition transition = rules.nextTransition(instant);
+        if (transition == null || transition.toEpochSecond() * 1000 >= end) {
+            return new Day(epochDay, offset, Long.MAX_VALUE, offset, false);
+        }
+        ZoneOffsetTransition next = rules.nextTransition(transition.getInstant());
+        boolean irregular = next != null && next.toEpochSecond() * 1000 < end;
+        return new Day(epochDay, offset, transition.toEpochSecond() * 1000,
+                offsetMillis(transition.getOffsetAfter().getTotalSeconds()), irregular);
+    }
+
+    private static int offsetMillis(int offsetSeconds) {
+        return offsetSeconds * 1000;
+    }
+
+    /**
+     * 一个 UTC 日内的偏移，不可变，可在线程间直接共享
+     */
+    private static class Day {
+        private final long epochDay;
+        private final int offsetBefore;
+        /** 当天偏移变化的时刻，没有变化时为 Long.MAX_VALUE */
+        private final long transition;
+        private final int offsetAfter;
+        /** 当天有多次偏移变化，直接查询规则 */
+        private final boolean irregular;
+
+        private Day(long epochDay, int offsetBefore, long transition, int offsetAfter, boolean irregular) {
+            this.epochDay = epochDay;
+            this.offsetBefore = offsetBefore;
+            this.transition = transition;
+            this.offsetAfter = offsetAfter;
+            this.irregular = irregular;
+        }
+    }
+}
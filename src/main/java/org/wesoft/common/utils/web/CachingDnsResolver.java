@@ -0,0 +1,106 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.conn.DnsResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带缓存的域名解析器
+ * <p>
+ * 解析结果缓存 ttl 毫秒；过期后的 staleTtl 毫秒内仍返回旧结果，同时在后台刷新，请求不再等待解析；
+ * 后台刷新失败时继续使用旧结果直到 staleTtl 结束。解析失败的结果不缓存
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:10
+ */
+class CachingDnsResolver implements DnsResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingDnsResolver.class);
+
+    /** 缓存的主机数上限，超过时清空，避免访问大量不同主机时无限增长 */
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final AtomicInteger REFRESHER_SEQUENCE = new AtomicInteger();
+
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "http-utils-dns-refresher-" + REFRESHER_SEQUENCE.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DnsResolver delegate;
+    private final long ttl;
+    private final long staleTtl;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate 实际的解析器
+     * @param ttl      缓存时间，单位：毫秒
+     * @param staleTtl 过期后仍可使用旧结果的时间，单位：毫秒
+     */
+    CachingDnsResolver(DnsResolver delegate, long ttl, long staleTtl) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.staleTtl = staleTtl;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        Entry entry = cache.get(host);
+        if (entry != null) {
+            long now = System.currentTimeMillis();
+            if (now < entry.expiresAt) {
+                return entry.addresses.clone();
+            }
+            if (now < entry.expiresAt + staleTtl) {
+                refresh(host, entry);
+                return entry.addresses.clone();
+            }
+        }
+        return lookup(host).clone();
+    }
+
+    private InetAddress[] lookup(String host) throws UnknownHostException {
+        InetAddress[] addresses = delegate.resolve(host);
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(host, new Entry(addresses, System.currentTimeMillis() + ttl));
+        return addresses;
+    }
+
+    private void refresh(String host, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        REFRESHER.execute(() -> {
+            try {
+                lookup(host);
+            } catch (UnknownHostException | RuntimeException e) {
+                logger.warn("Refreshing DNS entry of {} failed, keep using the stale addresses: {}", host, e.toString());
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private static class Entry {
+        private final InetAddress[] addresses;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(InetAddress[] addresses, long expiresAt) {
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.wesoft.common.utils.web;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * CIDR 网段，如 10.0.0.0/8、fc00::/7
+ * <p>
+ * 只解析 IP 字面量，不会触发域名解析；IPv4 以 int 比较，匹配时不分配对象
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:19
+ */
+final class Cidr {
+
+    private final int ipv4Network;
+    private final int ipv4Mask;
+    /** IPv6 网段，IPv4 网段时为 null */
+    private final byte[] ipv6Network;
+    private final int prefix;
+
+    private Cidr(int ipv4Network, int ipv4Mask, byte[] ipv6Network, int prefix) {
+        this.ipv4Network = ipv4Network;
+        this.ipv4Mask = ipv4Mask;
+        this.ipv6Network = ipv6Network;
+        this.prefix = prefix;
+    }
+
+    /**
+     * 解析网段，不带前缀长度时表示单个地址
+     *
+     * @param cidr 如 192.168.0.0/16
+     * @return Cidr
+     */
+    static Cidr parse(String cidr) {
+        int slash = cidr.indexOf('/');
+        String address = (slash < 0 ? cidr : cidr.substring(0, slash)).trim();
+        long ipv4 = parseIpv4(address, 0, address.length());
+        if (ipv4 >= 0) {
+            int prefix = slash < 0 ? 32 : parsePrefix(cidr, slash + 1, 32);
+            int mask = prefix == 0 ? 0 : -1 << (32 - prefix);
+            return new Cidr((int) ipv4 & mask, mask, null, prefix);
+        }
+        byte[] ipv6 = parseIpv6(address);
+        if (ipv6 == null || ipv6.length != 16) {
+            throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+        }
+        int prefix = slash < 0 ? 128 : parsePrefix(cidr, slash + 1, 128);
+        return new Cidr(0, 0, mask(ipv6, prefix), prefix);
+    }
+
+    boolean matches(int ipv4) {
+        return ipv6Network == null && (ipv4 & ipv4Mask) == ipv4Network;
+    }
+
+    boolean matches(byte[] ipv6) {
+        if (ipv6Network == null || ipv6.length != 16) {
+            return false;
+        }
+        for (int i = 0; i < 16; i++) {
+            int bits = Math.max(0, Math.min(8, prefix - i * 8));
+            if (((ipv6[i] ^ ipv6Network[i]) & (0xff00 >> bits & 0xff)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析 IPv4 字面量
+     *
+     * @param s    字符串
+     * @param from 起始位置
+     * @param to   结束位置（不含）
+     * @return 无符号的 32 位地址，不是 IPv4 字面量时返回 -1
+     */
+    static long parseIpv4(String s, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value < 0 ? c - '0' : value * 10 + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && value >= 0 && octets < 3) {
+                address = address << 8 | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octets != 3 || value < 0) {
+            return -1;
+        }
+        return address << 8 | value;
+    }
+
+    /**
+     * 解析 IPv6 字面量，IPv4 映射地址返回 4 字节
+     *
+     * @param s 字符串，可带方括号
+     * @return 地址字节，不是 IPv6 字面量时返回 null
+     */
+    static byte[] parseIpv6(String s) {
+        if (s.length() > 2 && s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
+            s = s.substring(1, s.length() - 1);
+        }
+        if (s.indexOf(':') < 0) {
+            return null;
+        }
+        // 只包含十六进制字符、冒号、点及 zone id 时才交给 InetAddress，保证不会发起域名解析
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                break;
+            }
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F' || c == ':' || c == '.')) {
+                return null;
+            }
+        }
+        try {
+            return InetAddress.getByName(s).getAddress();
+        } catch (UnknownHostException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static int parsePrefix(String cidr, int from, int max) {
+        try {
+            int prefix = Integer.parseInt(cidr.substring(from).trim());
+            if (prefix >= 0 && prefix <= max) {
+                return prefix;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid CIDR prefix: " + cidr);
+    }
+
+    private static byte[] mask(byte[] address, int prefix) {
+        byte[] masked = new byte[address.length];
+        for (int i = 0; i < address.length; i++) {
+            int bits = Math.max(0, Math.min(8, prefix - i * 8));
+            masked[i] = (byte) (address[i] & (0xff00 >> bits & 0xff));
+        }
+        return masked;
+    }
+
+    @Override
+    public String toString() {
+        if (ipv6Network != null) {
+            try {
+                return InetAddress.getByAddress(ipv6Network).getHostAddress() + "/" + prefix;
+            } catch (UnknownHostException e) {
+                return super.toString();
+            }
+        }
+        return (ipv4Network >>> 24) + "." + (ipv4Network >>> 16 & 0xff) + "." + (ipv4Network >>> 8 & 0xff) + "." + (ipv4Network & 0xff) + "/" + prefix;
+    }
+}
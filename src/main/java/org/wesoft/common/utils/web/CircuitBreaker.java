@@ -0,0 +1,76 @@
+package org.wesoft.common.utils.web;
+
+/**
+ * 单个路由的熔断器
+ * <p>
+ * 连续失败达到阈值后打开，打开期间请求直接失败；经过 openTime 后放行一个试探请求，成功则关闭，失败则重新打开，
+ * 被取消则立即放行下一个试探请求
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:45
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openTime;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long stateChangedAt;
+
+    CircuitBreaker(int failureThreshold, long openTime) {
+        this.failureThreshold = failureThreshold;
+        this.openTime = openTime;
+    }
+
+    /**
+     * 是否放行请求，放行后必须调用 onSuccess、onFailure 或 onCancelled
+     *
+     * @return boolean
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        // 打开超时后放行一个试探请求，试探请求长时间无结果时再放行下一个
+        long now = System.currentTimeMillis();
+        if (now - stateChangedAt >= openTime) {
+            state = State.HALF_OPEN;
+            stateChangedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            stateChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 请求被取消或中止，不计为成功或失败；试探请求被取消时释放试探名额，下一个请求立即作为试探请求放行
+     */
+    synchronized void onCancelled() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            stateChangedAt = System.currentTimeMillis() - openTime;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
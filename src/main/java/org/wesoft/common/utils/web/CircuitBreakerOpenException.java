@@ -0,0 +1,19 @@
+package org.wesoft.common.utils.web;
+
+import java.io.IOException;
+
+/**
+ * 熔断器打开时请求直接失败抛出的异常
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:45
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String route) {
+        super("Circuit breaker is open for " + route);
+    }
+}
@@ -0,0 +1,35 @@
+package org.wesoft.common.utils.web;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 下载选项
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:52
+ */
+@Getter
+@Builder
+public class DownloadOptions {
+
+    /** 最大分段数，服务端支持 Range 时分段并行下载 */
+    @Builder.Default
+    private final int segments = 4;
+    /** 每个分段的最小字节数，文件较小时减少分段数 */
+    @Builder.Default
+    private final long minSegmentSize = 4 * 1024 * 1024;
+    /** 单个分段中断后从断点续传的最大次数 */
+    @Builder.Default
+    private final int maxRetries = 3;
+    /** 校验算法，如 MD5、SHA-256，为 null 时不校验 */
+    private final String checksumAlgorithm;
+    /** 期望的校验值，十六进制 */
+    private final String checksum;
+    private final Map<String, String> headers;
+    /** 进度回调，可为 null */
+    private final HttpUtils.ProgressListener listener;
+}
@@ -0,0 +1,517 @@
+package org.wesoft.common.utils.web;
+
+import com.alibaba.fastjson.JSON;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 下载引擎
+ * <p>
+ * 先写入 target.part，服务端支持 Range 时按分段并行下载并在 target.part.json 中记录进度，中断后再次调用可断点续传；
+ * 校验长度及校验值通过后再移动到 target
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:52
+ */
+class Downloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(Downloader.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** 每写入多少字节保存一次进度 */
+    private static final long SAVE_INTERVAL = 8 * 1024 * 1024;
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+
+    private final HttpUtils httpUtils;
+
+    Downloader(HttpUtils httpUtils) {
+        this.httpUtils = httpUtils;
+    }
+
+    /**
+     * 下载进度，保存在 target.part.json 中
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class DownloadState {
+        private String url;
+        private long length;
+        private String validator;
+        private long[] starts;
+        private long[] ends;
+        private long[] downloaded;
+
+        long downloadedBytes() {
+            long sum = 0;
+            for (long d : downloaded) {
+                sum += d;
+            }
+            return sum;
+        }
+    }
+
+    private static class RemoteInfo {
+        private long length = -1;
+        private boolean acceptRanges;
+        /** 用于 If-Range 的强 ETag 或 Last-Modified */
+        private String validator;
+    }
+
+    long download(String url, Path target, DownloadOptions options) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        Path meta = target.resolveSibling(target.getFileName() + ".part.json");
+        RemoteInfo info = probe(url, options);
+
+        if (info.length < 0 || !info.acceptRanges) {
+            Files.deleteIfExists(meta);
+            downloadWhole(url, part, options);
+        } else {
+            DownloadState state = loadState(meta, part, url, info);
+            if (state == null) {
+                Files.deleteIfExists(part);
+                state = newState(url, info, options);
+            }
+            downloadSegments(url, part, meta, state, options);
+        }
+
+        long size = Files.size(part);
+        if (info.length >= 0 && size != info.length) {
+            throw new IOException("Downloaded " + size + " bytes but expected " + info.length + " from " + url);
+        }
+        verifyChecksum(part, meta, options);
+        try {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(meta);
+        return size;
+    }
+
+    /**
+     * 通过 HEAD 请求获取长度及是否支持 Range，失败时按不支持处理
+     */
+    private RemoteInfo probe(String url, DownloadOptions options) {
+        RemoteInfo info = new RemoteInfo();
+        HttpHead httpHead = new HttpHead(url);
+        prepare(httpHead, options);
+        try (CloseableHttpResponse response = httpUtils.execute(httpHead)) {
+            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+                return info;
+            }
+            Header contentLength = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+            if (contentLength != null) {
+                info.length = Long.parseLong(contentLength.getValue().trim());
+            }
+            Header acceptRanges = response.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+            info.acceptRanges = acceptRanges != null && "bytes".equalsIgnoreCase(acceptRanges.getValue().trim());
+            Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+            Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            if (etag != null && !etag.getValue().startsWith("W/")) {
+                info.validator = etag.getValue();
+            } else if (lastModified != null) {
+                info.validator = lastModified.getValue();
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("HEAD {} failed, falling back to a single stream: {}", url, e.toString());
+        } finally {
+            httpHead.releaseConnection();
+        }
+        return info;
+    }
+
+    private void downloadWhole(String url, Path part, DownloadOptions options) throws IOException {
+        HttpGet httpGet = new HttpGet(url);
+        prepare(httpGet, options);
+        try (CloseableHttpResponse response = httpUtils.execute(httpGet);
+             FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if (statusCode != HttpStatus.SC_OK || entity == null) {
+                throw new IOException("Unexpected status " + statusCode + " downloading " + url);
+            }
+            AtomicLong transferred = new AtomicLong();
+            try (InputStream in = entity.getContent()) {
+                transfer(in, channel, 0, Long.MAX_VALUE, transferred, entity.getContentLength(), options, position -> {
+                });
+            }
+        } finally {
+            httpGet.releaseConnection();
+        }
+    }
+
+    private void downloadSegments(String url, Path part, Path meta, DownloadState state, DownloadOptions options) throws IOException {
+        AtomicLong transferred;
+        synchronized (state) {
+            transferred = new AtomicLong(state.downloadedBytes());
+        }
+        int segments = state.starts.length;
+        ExecutorService executor = Executors.newFixedThreadPool(segments, runnable -> {
+            Thread thread = new Thread(runnable, "http-utils-download-" + THREAD_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        InFlightRequests inFlight = new InFlightRequests();
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < segments; i++) {
+                final int index = i;
+                if (state.starts[i] + state.downloaded[i] <= state.ends[i]) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            downloadSegment(url, channel, meta, state, index, options, transferred, inFlight);
+                        } catch (IOException | RuntimeException e) {
+                            // 任一分段失败即中止其余分段，不必等待它们各自下载完成
+                            inFlight.abort(e);
+                            throw e;
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    cancel(futures, inFlight, e.getCause());
+                    Throwable cause = inFlight.getFailure();
+                    throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+                } catch (InterruptedException e) {
+                    cancel(futures, inFlight, e);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            saveState(meta, state);
+        }
+    }
+
+    /**
+     * 取消其余分段并中止进行中的请求
+     */
+    private static void cancel(List<Future<?>> futures, InFlightRequests inFlight, Throwable cause) {
+        inFlight.abort(cause);
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private void downloadSegment(String url, FileChannel channel, Path meta, DownloadState state, int index,
+                                 DownloadOptions options, AtomicLong transferred, InFlightRequests inFlight) throws IOException {
+        long saved;
+        synchronized (state) {
+            saved = state.downloaded[index];
+        }
+        for (int attempt = 0; ; attempt++) {
+            long start;
+            synchronized (state) {
+                start = state.starts[index] + state.downloaded[index];
+            }
+            long end = state.ends[index];
+            if (start > end) {
+                return;
+            }
+            HttpGet httpGet = new HttpGet(url);
+            prepare(httpGet, options);
+            httpGet.setHeader(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+            if (state.validator != null) {
+                httpGet.setHeader(HttpHeaders.IF_RANGE, state.validator);
+            }
+            inFlight.add(httpGet);
+            try (CloseableHttpResponse response = httpUtils.execute(httpGet)) {
+                int statusCode = response.getStatusLine().getStatusCode();
+                HttpEntity entity = response.getEntity();
+                if (statusCode != HttpStatus.SC_PARTIAL_CONTENT || entity == null) {
+                    // 服务端文件已变化或不再支持 Range，断点续传无法继续
+                    throw new RangeNotSupportedException("Expected 206 for range " + start + "-" + end + " of " + url + " but got " + statusCode);
+                }
+                try (InputStream in = entity.getContent()) {
+                    long[] lastSaved = {saved};
+                    long position = transfer(in, channel, start, end - start + 1, transferred, state.length, options, written -> {
+                        long downloaded = written - state.starts[index];
+                        synchronized (state) {
+                            state.downloaded[index] = downloaded;
+                        }
+                        if (downloaded - lastSaved[0] >= SAVE_INTERVAL) {
+                            lastSaved[0] = downloaded;
+                            saveState(meta, state);
+                        }
+                    });
+                    if (position <= end) {
+                        throw new EOFException("Range " + start + "-" + end + " of " + url + " ended at " + position);
+                    }
+                }
+                return;
+            } catch (IOException e) {
+                if (e instanceof RangeNotSupportedException || attempt >= options.getMaxRetries() || inFlight.isAborted()) {
+                    throw e;
+                }
+                logger.warn("Segment {} of {} interrupted, resuming: {}", index, url, e.toString());
+            } finally {
+                inFlight.remove(httpGet);
+                httpGet.releaseConnection();
+            }
+        }
+    }
+
+    /**
+     * 把输入流写入文件的指定位置，最多写入 limit 字节
+     *
+     * @return 写入结束后的位置
+     */
+    private static long transfer(InputStream in, FileChannel channel, long position, long limit, AtomicLong transferred,
+                                 long total, DownloadOptions options, PositionListener positionListener) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(in);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long remaining = limit;
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = source.read(buffer);
+            if (read == -1) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            remaining -= read;
+            positionListener.onPosition(position);
+            long done = transferred.addAndGet(read);
+            if (options.getListener() != null) {
+                options.getListener().onProgress(done, total);
+            }
+        }
+        return position;
+    }
+
+    private static class RangeNotSupportedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private RangeNotSupportedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 分段下载中进行中的请求，中止后不再接受新请求
+     */
+    private static class InFlightRequests {
+        private final Set<HttpRequestBase> requests = new HashSet<>();
+        private boolean aborted;
+        private Throwable failure;
+
+        /**
+         * 登记请求，已中止时抛出 InterruptedIOException
+         */
+        synchronized void add(HttpRequestBase request) throws InterruptedIOException {
+            if (aborted) {
+                throw new InterruptedIOException("Download aborted");
+            }
+            requests.add(request);
+        }
+
+        synchronized void remove(HttpRequestBase request) {
+            requests.remove(request);
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        /**
+         * @return 导致中止的首个异常
+         */
+        synchronized Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * 中止所有进行中的请求，仅记录首个导致中止的异常
+         */
+        void abort(Throwable cause) {
+            List<HttpRequestBase> active;
+            synchronized (this) {
+                if (!aborted) {
+                    aborted = true;
+                    failure = cause;
+                }
+                active = new ArrayList<>(requests);
+                requests.clear();
+            }
+            for (HttpRequestBase request : active) {
+                request.abort();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PositionListener {
+        void onPosition(long position);
+    }
+
+    private void prepare(HttpRequestBase request, DownloadOptions options) {
+        request.setConfig(httpUtils.getRequestConfig(request.getURI()));
+        if (options.getHeaders() != null) {
+            options.getHeaders().forEach(request::setHeader);
+        }
+        // 长度与 Range 偏移都按原始字节计算，不接受压缩编码
+        request.setHeader(HttpHeaders.ACCEPT_ENCODING, "identity");
+    }
+
+    private static DownloadState newState(String url, RemoteInfo info, DownloadOptions options) {
+        long minSegmentSize = Math.max(1, options.getMinSegmentSize());
+        int segments = (int) Math.max(1, Math.min(options.getSegments(), (info.length + minSegmentSize - 1) / minSegmentSize));
+        DownloadState state = new DownloadState();
+        state.url = url;
+        state.length = info.length;
+        state.validator = info.validator;
+        state.starts = new long[segments];
+        state.ends = new long[segments];
+        state.downloaded = new long[segments];
+        long segmentSize = info.length / segments;
+        for (int i = 0; i < segments; i++) {
+            state.starts[i] = i * segmentSize;
+            state.ends[i] = i == segments - 1 ? info.length - 1 : (i + 1) * segmentSize - 1;
+        }
+        return state;
+    }
+
+    /**
+     * 读取上次的下载进度，远程文件已变化、进度不完整或 target.part 缺失、短于已记录的进度时返回 null
+     */
+    private static DownloadState loadState(Path meta, Path part, String url, RemoteInfo info) {
+        if (!Files.isRegularFile(meta)) {
+            return null;
+        }
+        try {
+            DownloadState state = JSON.parseObject(new String(Files.readAllBytes(meta), StandardCharsets.UTF_8), DownloadState.class);
+            if (state == null || !url.equals(state.url) || state.length != info.length || info.validator == null
+                    || !info.validator.equals(state.validator)) {
+                return null;
+            }
+            long recorded = recordedLength(state);
+            if (recorded < 0) {
+                logger.warn("Ignoring inconsistent download state {}", meta);
+                return null;
+            }
+            long size = Files.isRegularFile(part) ? Files.size(part) : -1;
+            if (size < recorded) {
+                logger.warn("Discarding download state {}: {} has {} bytes but {} were recorded", meta, part, size, recorded);
+                return null;
+            }
+            return state;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable download state {}: {}", meta, e.toString());
+        }
+        return null;
+    }
+
+    /**
+     * 已记录的进度在 target.part 中的最大偏移
+     *
+     * @return 分段信息不完整或超出范围时返回 -1
+     */
+    private static long recordedLength(DownloadState state) {
+        long[] starts = state.starts;
+        long[] ends = state.ends;
+        long[] downloaded = state.downloaded;
+        if (starts == null || ends == null || downloaded == null || starts.length == 0
+                || starts.length != ends.length || starts.length != downloaded.length) {
+            return -1;
+        }
+        long recorded = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < 0 || ends[i] >= state.length || downloaded[i] < 0 || downloaded[i] > ends[i] - starts[i] + 1) {
+                return -1;
+            }
+            recorded = Math.max(recorded, starts[i] + downloaded[i]);
+        }
+        return recorded;
+    }
+
+    private static void saveState(Path meta, DownloadState state) {
+        try {
+            byte[] json;
+            synchronized (state) {
+                json = JSON.toJSONString(state).getBytes(StandardCharsets.UTF_8);
+            }
+            Files.write(meta, json);
+        } catch (IOException e) {
+            logger.warn("Cannot save download state {}: {}", meta, e.toString());
+        }
+    }
+
+    private static void verifyChecksum(Path part, Path meta, DownloadOptions options) throws IOException {
+        if (options.getChecksumAlgorithm() == null || options.getChecksum() == null) {
+            return;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(options.getChecksumAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        String actual = Hex.encodeHexString(digest.digest());
+        if (!actual.equalsIgnoreCase(options.getChecksum())) {
+            // 内容已损坏，删除后下次重新下载
+            Files.deleteIfExists(part);
+            Files.deleteIfExists(meta);
+            throw new IOException(options.getChecksumAlgorithm() + " mismatch: expected " + options.getChecksum() + " but was " + actual);
+        }
+    }
+}
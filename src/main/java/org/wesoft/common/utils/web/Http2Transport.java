@@ -0,0 +1,42 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HttpProcessor;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+
+/**
+ * HTTP/2 传输，基于 JDK 11 的 java.net.http.HttpClient
+ * <p>
+ * 此为 Java 8 版本，HTTP/2 不可用；Java 11 及以上运行时由 META-INF/versions/11 中的实现替代
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:54
+ */
+class Http2Transport {
+
+    private Http2Transport() {
+    }
+
+    /**
+     * 创建 HTTP/2 传输，此版本始终返回 null，因此不存在任何实例
+     *
+     * @param connectTimeout 连接超时，单位：毫秒
+     * @param sslContext     与 HTTP/1.1 连接池共用的 SSLContext
+     * @param interceptors   请求及响应拦截器
+     * @return Http2Transport
+     */
+    static Http2Transport create(int connectTimeout, SSLContext sslContext, HttpProcessor interceptors) {
+        return null;
+    }
+
+    /**
+     * 仅为与 Java 11 版本的签名一致；构造方法私有且 create 返回 null，调用方拿不到实例，不会执行到此处
+     */
+    CloseableHttpResponse execute(HttpRequestBase request) throws IOException {
+        throw new IllegalStateException("HTTP/2 requires Java 11 or later");
+    }
+}
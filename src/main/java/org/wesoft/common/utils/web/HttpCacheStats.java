@@ -0,0 +1,40 @@
+package org.wesoft.common.utils.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * GET 响应缓存快照
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:47
+ */
+@Getter
+@AllArgsConstructor
+public class HttpCacheStats {
+
+    /** 命中且未过期的次数 */
+    private final long hitCount;
+    /** 未命中或已过期的次数 */
+    private final long missCount;
+    /** 服务端返回 304 协商成功的次数 */
+    private final long revalidatedCount;
+    /** 从内存中淘汰的条目数 */
+    private final long evictionCount;
+    /** 内存中的条目数 */
+    private final int memoryEntries;
+    /** 内存中响应内容的估算大小，单位：字节 */
+    private final long memoryBytes;
+    /** 磁盘缓存目录中的条目数，启动时按目录内容重建 */
+    private final int diskEntries;
+    /** 磁盘缓存目录中条目的大小，单位：字节 */
+    private final long diskBytes;
+
+    @Override
+    public String toString() {
+        return "[hitCount: " + hitCount + "; missCount: " + missCount + "; revalidatedCount: " + revalidatedCount
+                + "; evictionCount: " + evictionCount + "; memoryEntries: " + memoryEntries + "; memoryBytes: " + memoryBytes
+                + "; diskEntries: " + diskEntries + "; diskBytes: " + diskBytes + "]";
+    }
+}
@@ -0,0 +1,33 @@
+package org.wesoft.common.utils.web;
+
+import java.io.IOException;
+
+/**
+ * 请求事件监听器，通过 HttpUtilsConfig.eventListener 注册
+ * <p>
+ * 回调在执行请求的线程中同步进行，不应执行耗时操作；重试时每次尝试分别回调
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+public interface HttpEventListener {
+
+    /**
+     * 某个阶段结束
+     *
+     * @param route         路由，scheme://host:port
+     * @param phase         阶段
+     * @param durationNanos 耗时，单位：纳秒
+     */
+    void onPhase(String route, HttpPhase phase, long durationNanos);
+
+    /**
+     * 请求失败
+     *
+     * @param route 路由，scheme://host:port
+     * @param error 异常
+     */
+    default void onFailure(String route, IOException error) {
+    }
+}
@@ -0,0 +1,52 @@
+package org.wesoft.common.utils.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 单个路由的对冲请求快照
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:16
+ */
+@Getter
+@AllArgsConstructor
+public class HttpHedgeStats {
+
+    private final String route;
+    /** 启用对冲的请求数 */
+    private final long requestCount;
+    /** 发出对冲请求的次数 */
+    private final long hedgedCount;
+    /** 对冲请求先于首次请求响应（或在首次请求失败后成功）的次数 */
+    private final long winCount;
+    /** 到达延迟但预算不足、未发出对冲请求的次数 */
+    private final long budgetExhaustedCount;
+    /** 当前触发对冲的延迟，单位：毫秒 */
+    private final double delayMillis;
+
+    /**
+     * 对冲请求占请求数的比例
+     *
+     * @return double
+     */
+    public double getHedgeRate() {
+        return requestCount > 0 ? (double) hedgedCount / requestCount : 0;
+    }
+
+    /**
+     * 对冲请求胜出的比例
+     *
+     * @return double
+     */
+    public double getWinRate() {
+        return hedgedCount > 0 ? (double) winCount / hedgedCount : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "[route: " + route + "; requestCount: " + requestCount + "; hedgedCount: " + hedgedCount
+                + "; winCount: " + winCount + "; budgetExhaustedCount: " + budgetExhaustedCount + "; delayMillis: " + delayMillis + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package org.wesoft.common.utils.web;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按路由及阶段记录耗时分布的监听器，提供 p50 / p99 / p999
+ * <pre>
+ * HttpLatencyRecorder recorder = new HttpLatencyRecorder();
+ * HttpUtils httpUtils = new HttpUtils(HttpUtilsConfig.builder().eventListener(recorder).build());
+ * Map&lt;String, Map&lt;HttpPhase, HttpLatencyStats&gt;&gt; stats = recorder.snapshot();
+ * </pre>
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+public class HttpLatencyRecorder implements HttpEventListener {
+
+    private static final HttpPhase[] PHASES = HttpPhase.values();
+
+    private final Map<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPhase(String route, HttpPhase phase, long durationNanos) {
+        LatencyHistogram[] routeHistograms = histograms.get(route);
+        if (routeHistograms == null) {
+            routeHistograms = histograms.computeIfAbsent(route, key -> {
+                LatencyHistogram[] created = new LatencyHistogram[PHASES.length];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = new LatencyHistogram();
+                }
+                return created;
+            });
+        }
+        routeHistograms[phase.ordinal()].record(durationNanos);
+    }
+
+    /**
+     * 各路由各阶段的耗时分布，只包含有记录的阶段
+     *
+     * @return Map
+     */
+    public Map<String, Map<HttpPhase, HttpLatencyStats>> snapshot() {
+        Map<String, Map<HttpPhase, HttpLatencyStats>> result = new LinkedHashMap<>();
+        histograms.forEach((route, routeHistograms) -> {
+            Map<HttpPhase, HttpLatencyStats> phases = new EnumMap<>(HttpPhase.class);
+            for (HttpPhase phase : PHASES) {
+                HttpLatencyStats stats = routeHistograms[phase.ordinal()].snapshot();
+                if (stats.getCount() > 0) {
+                    phases.put(phase, stats);
+                }
+            }
+            result.put(route, phases);
+        });
+        return result;
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package org.wesoft.common.utils.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 单个路由单个阶段的耗时分布快照，耗时单位：毫秒，百分位的相对误差不超过 1/64
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+@Getter
+@AllArgsConstructor
+public class HttpLatencyStats {
+
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    @Override
+    public String toString() {
+        return String.format("[count: %d; mean: %.3f; p50: %.3f; p99: %.3f; p999: %.3f; max: %.3f]", count, mean, p50, p99, p999, max);
+    }
+}
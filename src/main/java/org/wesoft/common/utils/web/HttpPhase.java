@@ -0,0 +1,29 @@
+package org.wesoft.common.utils.web;
+
+/**
+ * 请求的各个阶段
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+public enum HttpPhase {
+    /** 等待限流令牌 */
+    RATE_LIMIT,
+    /** 从连接池获取连接 */
+    POOL_LEASE,
+    /** 域名解析 */
+    DNS,
+    /** 建立 TCP 连接，不包括域名解析及 TLS 握手 */
+    CONNECT,
+    /** TLS 握手 */
+    TLS,
+    /** 发送请求头及请求体 */
+    REQUEST_WRITE,
+    /** 请求发送完毕到收到响应头，HTTP/2 传输为请求开始到收到响应头 */
+    TIME_TO_FIRST_BYTE,
+    /** 收到响应头到响应体读取完毕或关闭 */
+    BODY_READ,
+    /** 单次尝试的总耗时，同步请求到响应体读取完毕或关闭为止 */
+    TOTAL
+}
@@ -0,0 +1,87 @@
+package org.wesoft.common.utils.web;
+
+import lombok.Getter;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+
+/**
+ * HTTP 连接池快照
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:37
+ */
+@Getter
+public class HttpPoolStats {
+
+    /** 已租用连接数 */
+    private final int leased;
+    /** 空闲连接数 */
+    private final int available;
+    /** 等待获取连接的请求数 */
+    private final int pending;
+    /** 最大连接数 */
+    private final int max;
+    /** 因过期被回收的连接数 */
+    private final long expiredEvictedCount;
+    /** 因空闲超时被回收的连接数 */
+    private final long idleEvictedCount;
+    /** 各路由快照，key 为 scheme://host:port */
+    private final Map<String, RouteStats> routes;
+
+    HttpPoolStats(PoolStats total, Map<String, RouteStats> routes, long expiredEvictedCount, long idleEvictedCount) {
+        this.leased = total.getLeased();
+        this.available = total.getAvailable();
+        this.pending = total.getPending();
+        this.max = total.getMax();
+        this.expiredEvictedCount = expiredEvictedCount;
+        this.idleEvictedCount = idleEvictedCount;
+        this.routes = routes;
+    }
+
+    @Override
+    public String toString() {
+        return "[leased: " + leased + "; available: " + available + "; pending: " + pending + "; max: " + max
+                + "; expiredEvictedCount: " + expiredEvictedCount + "; idleEvictedCount: " + idleEvictedCount + "] " + routes;
+    }
+
+    @Getter
+    public static class RouteStats {
+        /** 已租用连接数 */
+        private final int leased;
+        /** 空闲连接数 */
+        private final int available;
+        /** 等待获取连接的请求数 */
+        private final int pending;
+        /** 最大连接数 */
+        private final int max;
+        /** 成功获取连接次数 */
+        private final long leaseCount;
+        /** 获取连接超时次数 */
+        private final long timeoutCount;
+        /** 获取连接平均等待时间，单位：毫秒 */
+        private final double avgWaitMillis;
+        /** 获取连接最大等待时间，单位：毫秒 */
+        private final double maxWaitMillis;
+
+        RouteStats(PoolStats stats, long leaseCount, long timeoutCount, long totalWaitNanos, long maxWaitNanos) {
+            this.leased = stats.getLeased();
+            this.available = stats.getAvailable();
+            this.pending = stats.getPending();
+            this.max = stats.getMax();
+            this.leaseCount = leaseCount;
+            this.timeoutCount = timeoutCount;
+            long count = leaseCount + timeoutCount;
+            this.avgWaitMillis = count == 0 ? 0 : totalWaitNanos / 1e6 / count;
+            this.maxWaitMillis = maxWaitNanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return "[leased: " + leased + "; available: " + available + "; pending: " + pending + "; max: " + max
+                    + "; leaseCount: " + leaseCount + "; timeoutCount: " + timeoutCount
+                    + "; avgWaitMillis: " + avgWaitMillis + "; maxWaitMillis: " + maxWaitMillis + "]";
+        }
+    }
+}
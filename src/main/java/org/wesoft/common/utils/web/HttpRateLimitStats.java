@@ -0,0 +1,46 @@
+package org.wesoft.common.utils.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 单个路由的限流快照
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:03
+ */
+@Getter
+@AllArgsConstructor
+public class HttpRateLimitStats {
+
+    private final String route;
+    private final double permitsPerSecond;
+    private final int burst;
+    /** 获得令牌的请求数 */
+    private final long acquiredCount;
+    /** 需要等待令牌的请求数 */
+    private final long throttledCount;
+    /** 等待时间超过 rateLimitTimeout 被拒绝的请求数 */
+    private final long rejectedCount;
+    /** 累计等待时间，单位：毫秒 */
+    private final long totalWaitMillis;
+    /** 最长等待时间，单位：毫秒 */
+    private final long maxWaitMillis;
+
+    /**
+     * 被限流请求的平均等待时间，单位：毫秒
+     *
+     * @return double
+     */
+    public double getAvgWaitMillis() {
+        return throttledCount > 0 ? (double) totalWaitMillis / throttledCount : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "[route: " + route + "; permitsPerSecond: " + permitsPerSecond + "; burst: " + burst
+                + "; acquiredCount: " + acquiredCount + "; throttledCount: " + throttledCount + "; rejectedCount: " + rejectedCount
+                + "; totalWaitMillis: " + totalWaitMillis + "; maxWaitMillis: " + maxWaitMillis + "]";
+    }
+}
@@ -0,0 +1,453 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GET 响应缓存，遵循 Cache-Control、Expires 及 ETag/Last-Modified 协商
+ * <p>
+ * 内存中按 LRU 淘汰，配置了磁盘目录时被淘汰的条目写入磁盘，磁盘命中的条目移回内存。
+ * 磁盘文件为自定义的记录格式（不使用 Java 序列化），启动时扫描目录重建索引，磁盘占用上限在重启后仍然有效
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:47
+ */
+class HttpResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    /** 磁盘文件的格式标识及版本 */
+    private static final int FILE_MAGIC = 0x48524331;
+    private static final String FILE_SUFFIX = ".cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final File diskDir;
+    private final long diskMaxBytes;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    /** 磁盘索引，key 为文件名（缓存 key 的 SHA-1），按写入顺序淘汰 */
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>();
+    private long diskBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    HttpResponseCache(int maxEntries, long maxBytes, File diskDir, long diskMaxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.diskDir = diskDir;
+        this.diskMaxBytes = diskMaxBytes;
+        if (diskDir != null && !diskDir.isDirectory() && !diskDir.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create cache directory " + diskDir);
+        }
+        if (diskDir != null) {
+            loadDiskIndex();
+        }
+    }
+
+    static class Entry {
+        final int statusCode;
+        final String body;
+        final String etag;
+        final String lastModified;
+        /** 过期时间，0 表示每次都需要协商 */
+        final long expiresAt;
+
+        Entry(int statusCode, String body, String etag, String lastModified, long expiresAt) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        long size() {
+            return body != null ? body.length() * 2L : 0;
+        }
+    }
+
+    /**
+     * 查找缓存，未命中返回 null；返回的条目可能已过期，需要调用方协商
+     *
+     * @param key key
+     * @return Entry
+     */
+    Entry get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = memory.get(key);
+        }
+        if (entry == null && diskDir != null) {
+            entry = readDisk(key);
+            if (entry != null) {
+                // 移回内存，之后的命中不再读取文件
+                deleteDisk(key);
+                if (entry.size() <= maxBytes) {
+                    putMemory(key, entry);
+                }
+            }
+        }
+        if (entry != null && entry.isFresh()) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * 服务端返回 304 后刷新条目的过期时间
+     *
+     * @param key      key
+     * @param entry    原条目
+     * @param response 304 响应
+     * @return Entry
+     */
+    Entry revalidated(String key, Entry entry, HttpResponse response) {
+        revalidatedCount.increment();
+        Entry updated = new Entry(entry.statusCode, entry.body, entry.etag, entry.lastModified, expiresAt(response));
+        putMemory(key, updated);
+        return updated;
+    }
+
+    /**
+     * 按响应头决定是否缓存
+     *
+     * @param key      key
+     * @param response response
+     * @param body     响应内容
+     */
+    void put(String key, HttpResponse response, String body) {
+        if (response.getStatusLine().getStatusCode() != 200 || hasDirective(response, "no-store")) {
+            remove(key);
+            return;
+        }
+        long expiresAt = expiresAt(response);
+        String etag = headerValue(response, HttpHeaders.ETAG);
+        String lastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+        // 既不能直接使用又无法协商的响应没有缓存价值
+        if (expiresAt <= System.currentTimeMillis() && etag == null && lastModified == null) {
+            remove(key);
+            return;
+        }
+        Entry entry = new Entry(200, body, etag, lastModified, expiresAt);
+        if (entry.size() > maxBytes) {
+            return;
+        }
+        putMemory(key, entry);
+    }
+
+    HttpCacheStats stats() {
+        int memoryEntries;
+        long memoryBytes;
+        synchronized (this) {
+            memoryEntries = memory.size();
+            memoryBytes = this.memoryBytes;
+        }
+        int diskEntries;
+        long diskBytes;
+        synchronized (disk) {
+            diskEntries = disk.size();
+            diskBytes = this.diskBytes;
+        }
+        return new HttpCacheStats(hitCount.sum(), missCount.sum(), revalidatedCount.sum(), evictionCount.sum(),
+                memoryEntries, memoryBytes, diskEntries, diskBytes);
+    }
+
+    private void putMemory(String key, Entry entry) {
+        Map<String, Entry> spilled = new LinkedHashMap<>();
+        synchronized (this) {
+            Entry previous = memory.put(key, entry);
+            if (previous != null) {
+                memoryBytes -= previous.size();
+            }
+            memoryBytes += entry.size();
+            Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+            while ((memory.size() > maxEntries || memoryBytes > maxBytes) && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                it.remove();
+                memoryBytes -= eldest.getValue().size();
+                evictionCount.increment();
+                spilled.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+        if (diskDir != null) {
+            spilled.forEach(this::writeDisk);
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (this) {
+            Entry previous = memory.remove(key);
+            if (previous != null) {
+                memoryBytes -= previous.size();
+            }
+        }
+        if (diskDir != null) {
+            deleteDisk(key);
+        }
+    }
+
+    /**
+     * 扫描磁盘目录重建索引，按修改时间从旧到新排列，超出上限时删除最旧的文件
+     */
+    private void loadDiskIndex() {
+        File[] files = diskDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<File> cacheFiles = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                // 上次写入未完成的临时文件
+                delete(file);
+            } else if (name.endsWith(FILE_SUFFIX) && file.isFile()) {
+                cacheFiles.add(file);
+            }
+        }
+        cacheFiles.sort(Comparator.comparingLong(File::lastModified));
+        synchronized (disk) {
+            for (File file : cacheFiles) {
+                String name = file.getName();
+                long length = file.length();
+                disk.put(name.substring(0, name.length() - FILE_SUFFIX.length()), length);
+                diskBytes += length;
+            }
+            trimDisk();
+        }
+    }
+
+    private Entry readDisk(String key) {
+        String name = DigestUtils.sha1Hex(key);
+        synchronized (disk) {
+            if (!disk.containsKey(name)) {
+                return null;
+            }
+        }
+        File file = diskFile(name);
+        long limit = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Unrecognized cache file format");
+            }
+            String storedKey = readString(in, limit);
+            int statusCode = in.readInt();
+            String etag = readString(in, limit);
+            String lastModified = readString(in, limit);
+            long expiresAt = in.readLong();
+            String body = readString(in, limit);
+            // 文件名为 key 的摘要，摘要冲突时视为未命中
+            return key.equals(storedKey) ? new Entry(statusCode, body, etag, lastModified, expiresAt) : null;
+        } catch (FileNotFoundException e) {
+            removeDiskIndex(name);
+            return null;
+        } catch (IOException e) {
+            logger.warn("Discard unreadable cache file {}: {}", file, e.getMessage());
+            deleteDisk(key);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, Entry entry) {
+        String name = DigestUtils.sha1Hex(key);
+        File file = diskFile(name);
+        File temp = new File(diskDir, name + TEMP_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                writeString(out, key);
+                out.writeInt(entry.statusCode);
+                writeString(out, entry.etag);
+                writeString(out, entry.lastModified);
+                out.writeLong(entry.expiresAt);
+                writeString(out, entry.body);
+            }
+            if (temp.length() > diskMaxBytes) {
+                delete(temp);
+                return;
+            }
+            // 先写临时文件再替换，读取方不会读到写了一半的文件
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Write cache file {} failed: {}", file, e.getMessage());
+            delete(temp);
+            return;
+        }
+        long length = file.length();
+        synchronized (disk) {
+            Long previous = disk.remove(name);
+            diskBytes += length - (previous != null ? previous : 0);
+            disk.put(name, length);
+            trimDisk();
+        }
+    }
+
+    /**
+     * 删除最旧的文件直到不超过上限，调用方持有 disk 锁
+     */
+    private void trimDisk() {
+        Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+        while (diskBytes > diskMaxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            diskBytes -= eldest.getValue();
+            delete(diskFile(eldest.getKey()));
+        }
+    }
+
+    private void deleteDisk(String key) {
+        String name = DigestUtils.sha1Hex(key);
+        removeDiskIndex(name);
+        delete(diskFile(name));
+    }
+
+    private void removeDiskIndex(String name) {
+        synchronized (disk) {
+            Long previous = disk.remove(name);
+            if (previous != null) {
+                diskBytes -= previous;
+            }
+        }
+    }
+
+    private File diskFile(String name) {
+        return new File(diskDir, name + FILE_SUFFIX);
+    }
+
+    private static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            logger.warn("Delete cache file {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @param limit 文件长度，长度字段超出时视为文件损坏
+     */
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > limit) {
+            throw new IOException("Corrupted cache file");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按 Cache-Control: max-age、Age 及 Expires 计算过期时间，no-cache 时为 0
+     *
+     * @param response response
+     * @return long
+     */
+    private static long expiresAt(HttpResponse response) {
+        long now = System.currentTimeMillis();
+        long maxAge = -1;
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            for (HeaderElement element : header.getElements()) {
+                if ("no-cache".equalsIgnoreCase(element.getName())) {
+                    return 0;
+                }
+                if ("max-age".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        maxAge = Long.parseLong(element.getValue());
+                    } catch (NumberFormatException ignored) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        if (maxAge >= 0) {
+            String age = headerValue(response, HttpHeaders.AGE);
+            long ageSeconds = 0;
+            if (age != null) {
+                try {
+                    ageSeconds = Long.parseLong(age);
+                } catch (NumberFormatException ignored) {
+                    // 忽略格式错误的 Age
+                }
+            }
+            return now + (maxAge - ageSeconds) * 1000;
+        }
+        String expires = headerValue(response, HttpHeaders.EXPIRES);
+        if (expires != null) {
+            Date expiresDate = DateUtils.parseDate(expires);
+            if (expiresDate == null) {
+                return 0;
+            }
+            // 以服务端时间计算有效期，避免两端时钟不一致
+            String date = headerValue(response, HttpHeaders.DATE);
+            Date serverDate = date != null ? DateUtils.parseDate(date) : null;
+            return now + expiresDate.getTime() - (serverDate != null ? serverDate.getTime() : now);
+        }
+        return 0;
+    }
+
+    private static boolean hasDirective(HttpResponse response, String directive) {
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            for (HeaderElement element : header.getElements()) {
+                if (directive.equalsIgnoreCase(element.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+}
@@ -0,0 +1,41 @@
+package org.wesoft.common.utils.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.http.Header;
+
+/**
+ * 类型化响应，包括响应码、响应头及反序列化后的响应体
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:59
+ */
+@Getter
+@AllArgsConstructor
+public class HttpResult<T> {
+
+    private final int statusCode;
+    private final Header[] headers;
+    /** 响应体，无响应体或错误响应无法反序列化时为 null */
+    private final T body;
+
+    /**
+     * 获取第一个同名响应头的值，名称不区分大小写
+     *
+     * @param name 名称
+     * @return String
+     */
+    public String getHeader(String name) {
+        for (Header header : headers) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
@@ -2,51 +2,112 @@ package org.wesoft.common.utils.web;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.TypeReference;
 import lombok.Builder;
+import lombok.Singular;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.*;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
-import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.message.BasicHeaderElementIterator;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.ImmutableHttpProcessor;
 import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
 import java.net.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
-import java.security.cert.X509Certificate;
+import java.security.KeyStore;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * HTTP 工具类
@@ -59,12 +120,37 @@ public class HttpUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpUtils.class);
 
-    private static PoolingHttpClientConnectionManager connMgr;
-    private static RequestConfig requestConfig;
-    private static ConnectionKeepAliveStrategy keepAliveStrategy;
-
-    private static CloseableHttpClient sslHttpClient;
-    private static CloseableHttpClient httpClient;
+    private InstrumentedConnectionManager connMgr;
+    private DnsResolver dnsResolver;
+    private RequestConfig requestConfig;
+    private ConnectionKeepAliveStrategy keepAliveStrategy;
+    private final Map<HttpHost, RequestConfig> routeRequestConfigs = new HashMap<>();
+    private final Map<HttpHost, Long> routeKeepAlives = new HashMap<>();
+    private final Map<HttpRoute, Integer> routeMaxConnections = new HashMap<>();
+
+    private SSLContext sslContext;
+    private HostnameVerifier hostnameVerifier;
+    private CloseableHttpClient httpClient;
+
+    private HttpUtilsConfig config;
+    private volatile CloseableHttpAsyncClient asyncHttpClient;
+    private PoolingNHttpClientConnectionManager asyncConnMgr;
+    private ScheduledExecutorService connectionEvictor;
+    private final Map<HttpHost, RateLimiter> rateLimiters = new HashMap<>();
+    private ScheduledExecutorService rateLimitScheduler;
+    private RetryBudget retryBudget;
+    private RequestHedger hedger;
+    private final Map<HttpHost, Boolean> routeHedges = new HashMap<>();
+    private final Map<HttpHost, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private HttpResponseCache responseCache;
+    private Http2Transport http2Transport;
+    private ExecutorService virtualThreadExecutor;
+    private Semaphore virtualThreadPermits;
+    private final Map<HttpRoute, Semaphore> virtualThreadRoutePermits = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger EVICTOR_SEQUENCE = new AtomicInteger();
+
+    private static final String[] CLIENT_IP_HEADERS = {"x-forwarded-for", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"};
 
     private HttpUtils() {
         initPool(HttpUtilsConfig.builder().build());
@@ -96,11 +182,236 @@ public class HttpUtils {
         private final int connectionRequestTimeout = 2000;
         @Builder.Default
         private final int validateAfterInactivity = 30000;
+        @Builder.Default
+        private final int ioThreadCount = Runtime.getRuntime().availableProcessors();
+        /** 回收过期及空闲连接的间隔，单位：毫秒，小于等于 0 时不启动回收线程 */
+        @Builder.Default
+        private final long evictInterval = 5000;
+        /** 连接最大空闲时间，单位：毫秒，小于等于 0 时只回收过期连接 */
+        @Builder.Default
+        private final long maxIdleTime = 30000;
+        /** 重试策略，默认不重试 */
+        @Builder.Default
+        private final RetryPolicy retryPolicy = RetryPolicy.builder().build();
+        /** 同步 GET 请求的对冲策略，默认不启用 */
+        @Builder.Default
+        private final HedgePolicy hedgePolicy = HedgePolicy.builder().build();
+        /** 连续失败多少次后熔断，小于等于 0 时不启用熔断 */
+        @Builder.Default
+        private final int circuitBreakerThreshold = 0;
+        /** 熔断持续时间，单位：毫秒 */
+        @Builder.Default
+        private final long circuitBreakerOpenTime = 10000;
+        /** 是否通过 HTTP/2 发送同步请求，需 Java 11 及以上，否则仍使用 HTTP/1.1 连接池 */
+        @Builder.Default
+        private final boolean http2 = false;
+        /** 是否在虚拟线程上以阻塞方式执行异步及批量请求，需 Java 21 及以上，否则仍使用异步客户端 */
+        @Builder.Default
+        private final boolean virtualThreads = false;
+        /** 是否启用 gzip 压缩：异步请求协商并解压响应，JSON 请求体超过 compressionThreshold 时压缩发送 */
+        @Builder.Default
+        private final boolean compression = false;
+        /** 请求体压缩的阈值，按 JSON 字符数计算，已序列化的请求体按字节数计算 */
+        @Builder.Default
+        private final int compressionThreshold = 2048;
+        /** GET 响应缓存的最大条目数，小于等于 0 时不启用缓存 */
+        @Builder.Default
+        private final int cacheMaxEntries = 0;
+        /** GET 响应缓存占用内存的上限，单位：字节 */
+        @Builder.Default
+        private final long cacheMaxBytes = 16 * 1024 * 1024;
+        /** GET 响应缓存的磁盘目录，为 null 时只使用内存 */
+        private final File cacheDir;
+        /** GET 响应缓存占用磁盘的上限，单位：字节 */
+        @Builder.Default
+        private final long cacheDiskMaxBytes = 256 * 1024 * 1024;
+        /** 域名解析器，默认使用系统解析 */
+        private final DnsResolver dnsResolver;
+        /** 域名解析结果的缓存时间，单位：毫秒，0 表示不缓存 */
+        @Builder.Default
+        private final long dnsCacheTtl = 0;
+        /** 缓存过期后仍可使用旧解析结果的时间，期间在后台刷新，单位：毫秒 */
+        @Builder.Default
+        private final long dnsStaleTtl = 0;
+        /** 解析出多个地址时竞速连接（Happy Eyeballs）的间隔，单位：毫秒，建议 250，0 表示按顺序逐个连接 */
+        @Builder.Default
+        private final long connectRaceDelay = 0;
+        /** HTTPS 的信任库、客户端证书及 TLS 会话缓存配置，同步、异步及 HTTP/2 请求共用 */
+        @Builder.Default
+        private final TlsConfig tls = TlsConfig.builder().build();
+        /** 按主机单独配置，key 为 [scheme://]host[:port]，如 https://api.example.com，通过 route、routes 设置 */
+        private final Map<String, RouteConfig> routes;
+        /** 请求拦截器，按顺序加入同步及异步客户端处理链的末尾，启用 HTTP/2 时由 HTTP/2 传输执行 */
+        @Singular
+        private final List<HttpRequestInterceptor> requestInterceptors;
+        /** 响应拦截器，按顺序加入同步及异步客户端处理链的末尾，启用 HTTP/2 时由 HTTP/2 传输执行 */
+        @Singular
+        private final List<HttpResponseInterceptor> responseInterceptors;
+        /** 请求事件监听器，接收各阶段耗时，如 HttpLatencyRecorder；异步客户端只回调 TOTAL */
+        @Singular
+        private final List<HttpEventListener> eventListeners;
+
+        /**
+         * routes 的设置方法，与 @Singular 相同，build 之后继续修改 builder 不影响已创建的配置
+         */
+        public static class HttpUtilsConfigBuilder {
+
+            private Map<String, RouteConfig> routes = Collections.emptyMap();
+
+            /**
+             * 单个主机的配置
+             *
+             * @param routeKey   [scheme://]host[:port]
+             * @param routeValue 配置
+             * @return HttpUtilsConfigBuilder
+             */
+            public HttpUtilsConfigBuilder route(String routeKey, RouteConfig routeValue) {
+                Map<String, RouteConfig> copy = new LinkedHashMap<>(routes);
+                copy.put(routeKey, routeValue);
+                routes = Collections.unmodifiableMap(copy);
+                return this;
+            }
+
+            public HttpUtilsConfigBuilder routes(Map<? extends String, ? extends RouteConfig> routes) {
+                if (routes == null) {
+                    throw new NullPointerException("routes cannot be null");
+                }
+                Map<String, RouteConfig> copy = new LinkedHashMap<>(this.routes);
+                copy.putAll(routes);
+                this.routes = Collections.unmodifiableMap(copy);
+                return this;
+            }
+
+            public HttpUtilsConfigBuilder clearRoutes() {
+                routes = Collections.emptyMap();
+                return this;
+            }
+        }
+    }
+
+    /**
+     * 单个主机的连接池配置，未设置的项沿用 HttpUtilsConfig 中的全局配置
+     */
+    @Builder
+    public static class RouteConfig {
+        private final Integer maxPerRoute;
+        private final Integer connectTimeout;
+        private final Integer socketTimeout;
+        private final Integer connectionRequestTimeout;
+        /** 服务端未返回 Keep-Alive 时连接的保持时间，单位：毫秒 */
+        private final Long keepAlive;
+        /** 每秒允许发出的请求数，未设置时不限流 */
+        private final Double permitsPerSecond;
+        /** 空闲时最多积攒的令牌数，即允许的突发请求数，默认为 1 */
+        private final Integer burst;
+        /**
+         * 等待令牌的最长时间，单位：毫秒，超时抛出 RateLimitExceededException；0 表示没有令牌时立即失败，未设置时一直等待。
+         * 同步请求阻塞当前线程等待，异步请求延迟提交，不占用线程
+         */
+        private final Long rateLimitTimeout;
+        /** 是否对该主机的同步 GET 请求启用对冲，未设置时沿用 HedgePolicy.enabled */
+        private final Boolean hedge;
+    }
+
+    /**
+     * 对冲策略：同步 GET 请求超过该路由耗时的 percentile 分位仍未响应时，再发出一个相同的请求，先响应的胜出。
+     * 只适用于幂等且对尾延迟敏感的查询，带 Range 头的请求（如分段下载）不做对冲
+     */
+    @Builder
+    public static class HedgePolicy {
+        /** 是否对所有路由启用，也可通过 RouteConfig.hedge 按主机启用 */
+        @Builder.Default
+        private final boolean enabled = false;
+        /** 触发对冲的耗时分位，0 ~ 1 */
+        @Builder.Default
+        private final double percentile = 0.95;
+        /** 样本数不足 minSamples 时使用的固定延迟，单位：毫秒 */
+        @Builder.Default
+        private final long delay = 100;
+        /** 延迟的下限，单位：毫秒，避免耗时很短的路由频繁对冲 */
+        @Builder.Default
+        private final long minDelay = 5;
+        /** 按分位计算延迟所需的最少样本数 */
+        @Builder.Default
+        private final int minSamples = 100;
+        /** 对冲预算，每个请求存入的额度，即对冲请求占比的上限 */
+        @Builder.Default
+        private final double budgetRatio = 0.05;
+        /** 对冲预算的额度上限 */
+        @Builder.Default
+        private final int budgetCapacity = 10;
+    }
+
+    /**
+     * HTTPS 配置，未设置信任库时使用 JVM 默认信任库（cacerts 或 javax.net.ssl.trustStore）
+     */
+    @Builder
+    public static class TlsConfig {
+        /** 信任库文件，设置后只信任其中的证书 */
+        private final File trustStore;
+        private final String trustStorePassword;
+        /** 客户端证书所在的密钥库文件，用于双向认证 */
+        private final File keyStore;
+        private final String keyStorePassword;
+        /** 私钥密码，未设置时与 keyStorePassword 相同 */
+        private final String keyPassword;
+        /** 信任库及密钥库的类型，如 JKS、PKCS12 */
+        @Builder.Default
+        private final String storeType = KeyStore.getDefaultType();
+        /** 是否信任所有证书并跳过主机名校验，仅用于测试环境 */
+        @Builder.Default
+        private final boolean trustAll = false;
+        /** TLS 会话缓存的最大条目数，用于会话恢复（省去完整握手），0 表示使用 JVM 默认值 */
+        @Builder.Default
+        private final int sessionCacheSize = 0;
+        /** TLS 会话缓存的有效期，单位：秒，0 表示使用 JVM 默认值（24 小时） */
+        @Builder.Default
+        private final int sessionTimeout = 0;
+    }
+
+    /**
+     * 重试策略，IO 异常或响应码命中 retryStatusCodes 时按指数退避重试
+     */
+    @Builder
+    public static class RetryPolicy {
+        /** 最大尝试次数，包括首次请求，1 表示不重试 */
+        @Builder.Default
+        private final int maxAttempts = 1;
+        /** 是否只重试幂等请求，请求未发出（如连接失败）时不受此限制 */
+        @Builder.Default
+        private final boolean idempotentOnly = true;
+        /** 首次重试的退避时间，单位：毫秒，之后每次翻倍 */
+        @Builder.Default
+        private final long backoff = 100;
+        /** 最大退避时间，单位：毫秒 */
+        @Builder.Default
+        private final long maxBackoff = 2000;
+        /** 退避时间的随机抖动比例，0 ~ 1 */
+        @Builder.Default
+        private final double jitter = 0.5;
+        /** 重试预算，每个请求存入的额度 */
+        @Builder.Default
+        private final double budgetRatio = 0.2;
+        /** 重试预算的额度上限 */
+        @Builder.Default
+        private final int budgetCapacity = 10;
+        /** 需要重试的响应码 */
+        @Builder.Default
+        private final Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
     }
 
     private void initPool(HttpUtilsConfig config) {
+        this.config = config;
+        // 设置域名解析，可选缓存
+        dnsResolver = config.dnsResolver != null ? config.dnsResolver : SystemDefaultDnsResolver.INSTANCE;
+        if (config.dnsCacheTtl > 0) {
+            dnsResolver = new CachingDnsResolver(dnsResolver, config.dnsCacheTtl, config.dnsStaleTtl);
+        }
+        // 设置 TLS，所有 HTTPS 连接共用同一个 SSLContext 及其会话缓存
+        sslContext = createSSLContext(config.tls);
+        hostnameVerifier = config.tls.trustAll ? NoopHostnameVerifier.INSTANCE : SSLConnectionSocketFactory.getDefaultHostnameVerifier();
         // 设置连接池
-        connMgr = new PoolingHttpClientConnectionManager();
+        connMgr = new InstrumentedConnectionManager(dnsResolver, sslContext, hostnameVerifier, config.connectRaceDelay);
         // 设置整个连接池最大连接数
         connMgr.setMaxTotal(config.maxTotal);
         // 设置每个主机地址的并发数
@@ -114,6 +425,60 @@ public class HttpUtils {
         // 设置从连接池获取连接实例的超时
         configBuilder.setConnectionRequestTimeout(config.connectionRequestTimeout);
         requestConfig = configBuilder.build();
+        retryBudget = new RetryBudget(config.retryPolicy.budgetRatio, config.retryPolicy.budgetCapacity);
+        if (config.http2) {
+            http2Transport = Http2Transport.create(config.connectTimeout, sslContext,
+                    new ImmutableHttpProcessor(config.requestInterceptors, config.responseInterceptors));
+            if (http2Transport == null) {
+                logger.warn("HTTP/2 requires Java 11 or later, falling back to HTTP/1.1");
+            }
+        }
+        if (config.virtualThreads) {
+            virtualThreadExecutor = VirtualThreads.newExecutor("http-utils-vt-");
+            if (virtualThreadExecutor == null) {
+                logger.warn("Virtual threads require Java 21 or later, falling back to the async client");
+            } else {
+                virtualThreadPermits = new Semaphore(config.maxTotal);
+            }
+        }
+        if (config.cacheMaxEntries > 0) {
+            responseCache = new HttpResponseCache(config.cacheMaxEntries, config.cacheMaxBytes, config.cacheDir, config.cacheDiskMaxBytes);
+        }
+
+        // 设置单个主机的连接数、超时和 keepAlive
+        config.routes.forEach((key, route) -> {
+            HttpHost host = normalizeHost(HttpHost.create(key));
+            if (route.maxPerRoute != null) {
+                routeMaxConnections.put(new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName())), route.maxPerRoute);
+            }
+            RequestConfig.Builder routeConfigBuilder = RequestConfig.copy(requestConfig);
+            if (route.connectTimeout != null) {
+                routeConfigBuilder.setConnectTimeout(route.connectTimeout);
+            }
+            if (route.socketTimeout != null) {
+                routeConfigBuilder.setSocketTimeout(route.socketTimeout);
+            }
+            if (route.connectionRequestTimeout != null) {
+                routeConfigBuilder.setConnectionRequestTimeout(route.connectionRequestTimeout);
+            }
+            routeRequestConfigs.put(host, routeConfigBuilder.build());
+            if (route.keepAlive != null) {
+                routeKeepAlives.put(host, route.keepAlive);
+            }
+            if (route.hedge != null) {
+                routeHedges.put(host, route.hedge);
+            }
+            if (route.permitsPerSecond != null) {
+                rateLimiters.put(host, new RateLimiter(route.permitsPerSecond, route.burst != null ? route.burst : 1,
+                        route.rateLimitTimeout != null ? route.rateLimitTimeout : -1));
+            }
+        });
+        routeMaxConnections.forEach(connMgr::setMaxPerRoute);
+        HedgePolicy hedgePolicy = config.hedgePolicy;
+        if (hedgePolicy.enabled || routeHedges.containsValue(Boolean.TRUE)) {
+            hedger = new RequestHedger(hedgePolicy.percentile, hedgePolicy.delay, hedgePolicy.minDelay, hedgePolicy.minSamples,
+                    hedgePolicy.budgetRatio, hedgePolicy.budgetCapacity);
+        }
 
         keepAliveStrategy = (response, context) -> {
             HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
@@ -125,49 +490,228 @@ public class HttpUtils {
                     return Long.parseLong(value) * 1000;
                 }
             }
+            if (!routeKeepAlives.isEmpty()) {
+                HttpHost target = HttpClientContext.adapt(context).getTargetHost();
+                Long keepAlive = target != null ? routeKeepAlives.get(normalizeHost(target)) : null;
+                if (keepAlive != null) {
+                    return keepAlive;
+                }
+            }
             return 5 * 1000;
         };
+
+        // 客户端随连接池一起创建，整个生命周期内复用，仅在 shutdown 时关闭；HTTP 与 HTTPS 由连接池按 scheme 区分
+        httpClient = newHttpClientBuilder().build();
+
+        // 连接池为共享模式，HttpClientBuilder 自带的 IdleConnectionEvictor 不会启动，需自行回收
+        if (config.evictInterval > 0) {
+            connectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-utils-evictor-" + EVICTOR_SEQUENCE.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            connectionEvictor.scheduleWithFixedDelay(this::evictConnections, config.evictInterval, config.evictInterval, TimeUnit.MILLISECONDS);
+        }
+        // 异步请求被限流时延迟提交
+        if (!rateLimiters.isEmpty()) {
+            rateLimitScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-utils-rate-limiter-" + EVICTOR_SEQUENCE.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private HttpClientBuilder newHttpClientBuilder() {
+        HttpClientBuilder builder = HttpClients.custom().setConnectionManager(connMgr).setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig).setKeepAliveStrategy(keepAliveStrategy);
+        config.requestInterceptors.forEach(builder::addInterceptorLast);
+        config.responseInterceptors.forEach(builder::addInterceptorLast);
+        if (!config.eventListeners.isEmpty()) {
+            builder.setRequestExecutor(new TimedRequestExecutor());
+        }
+        if (config.tls.keyStore != null) {
+            // 使用客户端证书时连接会被标记为该证书的身份，而请求不携带身份，导致池中连接无法复用
+            builder.disableConnectionState();
+        }
+        return builder;
     }
 
     /**
-     * 获取 CloseableHttpClient
-     *
-     * @param url       URL
-     * @param keepAlive keepAlive
-     * @return CloseableHttpClient
-     */
-    private CloseableHttpClient getCloseableHttpClient(String url, boolean keepAlive) {
-        if (url.startsWith("https")) {
-            if (sslHttpClient == null) {
-                HttpClientBuilder httpClientBuilder = HttpClients.custom().setSSLSocketFactory(createSSLConnSocketFactory())
-                        .setConnectionManager(connMgr).setConnectionManagerShared(true).setDefaultRequestConfig(requestConfig);
-                if (keepAlive) {
-                    httpClientBuilder.setKeepAliveStrategy(keepAliveStrategy);
+     * 回收过期及空闲连接
+     */
+    private void evictConnections() {
+        try {
+            connMgr.evictConnections(config.maxIdleTime, TimeUnit.MILLISECONDS);
+            CloseableHttpAsyncClient client = asyncHttpClient;
+            if (client != null && asyncConnMgr != null) {
+                asyncConnMgr.closeExpiredConnections();
+                if (config.maxIdleTime > 0) {
+                    asyncConnMgr.closeIdleConnections(config.maxIdleTime, TimeUnit.MILLISECONDS);
                 }
-                sslHttpClient = httpClientBuilder.build();
             }
-            return sslHttpClient;
-        } else {
-            HttpClientBuilder httpClientBuilder = HttpClients.custom().setConnectionManager(connMgr).setConnectionManagerShared(true)
-                    .setDefaultRequestConfig(requestConfig);
-            if (httpClient == null) {
-                if (keepAlive) {
-                    httpClientBuilder.setKeepAliveStrategy(keepAliveStrategy);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 关闭客户端并释放连接池，关闭后当前实例不可再使用
+     */
+    public void shutdown() {
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdownNow();
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdownNow();
+        }
+        if (rateLimitScheduler != null) {
+            rateLimitScheduler.shutdownNow();
+        }
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+        try {
+            httpClient.close();
+            if (asyncHttpClient != null) {
+                asyncHttpClient.close();
+            }
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            connMgr.shutdown();
+        }
+    }
+
+    /**
+     * 获取连接池快照，包括各路由的连接数及获取连接的等待时间
+     *
+     * @return HttpPoolStats
+     */
+    public HttpPoolStats getPoolStats() {
+        return connMgr.snapshot();
+    }
+
+    /**
+     * 获取 GET 响应缓存快照，未启用缓存时返回 null
+     *
+     * @return HttpCacheStats
+     */
+    public HttpCacheStats getCacheStats() {
+        return responseCache != null ? responseCache.stats() : null;
+    }
+
+    /**
+     * 获取各路由的对冲快照，包括发出对冲请求及对冲胜出的次数，未启用对冲时返回空 Map
+     *
+     * @return Map
+     */
+    public Map<String, HttpHedgeStats> getHedgeStats() {
+        return hedger != null ? hedger.snapshot() : Collections.emptyMap();
+    }
+
+    /**
+     * 获取各路由的限流快照，包括被限流的请求数及等待时间
+     *
+     * @return Map
+     */
+    public Map<String, HttpRateLimitStats> getRateLimitStats() {
+        Map<String, HttpRateLimitStats> stats = new LinkedHashMap<>();
+        rateLimiters.forEach((host, rateLimiter) -> stats.put(host.toURI(), rateLimiter.snapshot(host.toURI())));
+        return stats;
+    }
+
+    /**
+     * 获取请求配置，优先使用主机单独的配置
+     *
+     * @param uri URI
+     * @return RequestConfig
+     */
+    RequestConfig getRequestConfig(URI uri) {
+        if (routeRequestConfigs.isEmpty()) {
+            return requestConfig;
+        }
+        HttpHost host = URIUtils.extractHost(uri);
+        RequestConfig routeRequestConfig = host != null ? routeRequestConfigs.get(normalizeHost(host)) : null;
+        return routeRequestConfig != null ? routeRequestConfig : requestConfig;
+    }
+
+    /**
+     * 补全默认端口，与连接池中的路由保持一致
+     *
+     * @param host HttpHost
+     * @return HttpHost
+     */
+    private static HttpHost normalizeHost(HttpHost host) {
+        if (host.getPort() > 0) {
+            return host;
+        }
+        int port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+        return new HttpHost(host.getHostName(), port, host.getSchemeName());
+    }
+
+    /**
+     * 获取 CloseableHttpAsyncClient，首次使用时创建并启动 I/O 线程
+     *
+     * @return CloseableHttpAsyncClient
+     */
+    private CloseableHttpAsyncClient getAsyncHttpClient() {
+        CloseableHttpAsyncClient client = asyncHttpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = asyncHttpClient;
+                if (client == null) {
+                    client = createAsyncHttpClient();
+                    client.start();
+                    asyncHttpClient = client;
                 }
             }
-            httpClient = httpClientBuilder.build();
-            return httpClient;
+        }
+        return client;
+    }
+
+    private CloseableHttpAsyncClient createAsyncHttpClient() {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(config.ioThreadCount)
+                .setConnectTimeout(config.connectTimeout)
+                .setSoTimeout(config.socketTimeout)
+                .build();
+        try {
+            asyncConnMgr = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig),
+                    ManagedNHttpClientConnectionFactory.INSTANCE, RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", new SSLIOSessionStrategy(sslContext, hostnameVerifier))
+                    .build(), dnsResolver);
+            asyncConnMgr.setMaxTotal(config.maxTotal);
+            asyncConnMgr.setDefaultMaxPerRoute(config.maxPreRoute);
+            routeMaxConnections.forEach(asyncConnMgr::setMaxPerRoute);
+            HttpAsyncClientBuilder builder = HttpAsyncClients.custom().setConnectionManager(asyncConnMgr)
+                    .setDefaultRequestConfig(requestConfig).setKeepAliveStrategy(keepAliveStrategy);
+            config.requestInterceptors.forEach(builder::addInterceptorLast);
+            config.responseInterceptors.forEach(builder::addInterceptorLast);
+            if (config.tls.keyStore != null) {
+                builder.disableConnectionState();
+            }
+            return builder.build();
+        } catch (IOReactorException e) {
+            throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
     /**
-     * 获取 CloseableHttpClient
+     * 设置请求头，keepAlive 为 false 时请求完成后不再复用该连接
      *
-     * @param url URL
-     * @return CloseableHttpClient
+     * @param request   request
+     * @param headers   headers
+     * @param keepAlive keepAlive
      */
-    private CloseableHttpClient getCloseableHttpClient(String url) {
-        return getCloseableHttpClient(url, true);
+    private static void setHeaders(HttpRequestBase request, Map<String, String> headers, boolean keepAlive) {
+        if (headers != null && headers.size() > 0) {
+            headers.forEach(request::setHeader);
+        }
+        if (!keepAlive) {
+            request.setHeader(HTTP.CONN_DIRECTIVE, HTTP.CONN_CLOSE);
+        }
     }
 
     /**
@@ -228,122 +772,809 @@ public class HttpUtils {
      * @return JSONObject
      */
     public JSONObject doGet(String url, Map<String, Object> params, Map<String, String> headers, boolean keepAlive) {
-        String apiUrl = url;
-        StringBuffer param = new StringBuffer();
-        if (params != null) {
-            int i = 0;
-            for (String key : params.keySet()) {
-                if (i == 0) {
-                    param.append("?");
-                } else {
-                    param.append("&");
-                }
-                param.append(key).append("=").append(params.get(key));
-                i++;
-            }
-        }
-        apiUrl += param;
+        return doGet(url, params, headers, keepAlive, true);
+    }
+
+    /**
+     * 发送 GET 请求
+     *
+     * @param url       url
+     * @param params    参数
+     * @param headers   headers
+     * @param keepAlive keepAlive
+     * @param useCache  启用了响应缓存时，是否对本次请求使用缓存
+     * @return JSONObject
+     */
+    public JSONObject doGet(String url, Map<String, Object> params, Map<String, String> headers, boolean keepAlive, boolean useCache) {
+        String apiUrl = buildUrl(url, params);
         String httpStr = null;
         int statusCode = 0;
-        CloseableHttpClient httpClient = getCloseableHttpClient(apiUrl, keepAlive);
-
+        String cacheKey = null;
+        HttpResponseCache.Entry cached = null;
+        if (useCache && responseCache != null) {
+            cacheKey = headers != null && !headers.isEmpty() ? apiUrl + new TreeMap<>(headers) : apiUrl;
+            cached = responseCache.get(cacheKey);
+            if (cached != null && cached.isFresh()) {
+                return handleJsonObject(cached.statusCode, cached.body);
+            }
+        }
         HttpGet httpGet = new HttpGet(apiUrl);
-        httpGet.setConfig(requestConfig);
-        try {
-            if (headers != null && headers.size() > 0) {
-                headers.forEach(httpGet::setHeader);
+        httpGet.setConfig(getRequestConfig(httpGet.getURI()));
+        setHeaders(httpGet, headers, keepAlive);
+        if (cached != null) {
+            if (cached.etag != null) {
+                httpGet.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
             }
-
-            HttpResponse response = httpClient.execute(httpGet);
+            if (cached.lastModified != null) {
+                httpGet.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        try (CloseableHttpResponse response = execute(httpGet)) {
             statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                cached = responseCache.revalidated(cacheKey, cached, response);
+                return handleJsonObject(cached.statusCode, cached.body);
+            }
             HttpEntity entity = response.getEntity();
             if (entity != null) {
                 try (InputStream inputStream = entity.getContent()) {
                     httpStr = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
                 }
             }
+            if (cacheKey != null) {
+                responseCache.put(cacheKey, response, httpStr);
+            }
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         } finally {
-            try {
-                httpGet.releaseConnection();
-                httpClient.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            httpGet.releaseConnection();
         }
         return handleJsonObject(statusCode, httpStr);
     }
 
     /**
-     * 发送 POST 请求
+     * 发送 GET 请求，直接从响应流反序列化为指定类型
      *
-     * @param url url
-     * @return JSONObject
+     * @param url   url
+     * @param clazz 类型
+     * @return T
      */
-    public JSONObject doPost(String url) {
-        return doPost(url, new HashMap<>(), new HashMap<>());
+    public <T> T doGet(String url, Class<T> clazz) {
+        return doGet(url, null, null, clazz);
     }
 
     /**
-     * 发送 POST 请求
+     * 发送 GET 请求，直接从响应流反序列化为指定类型
      *
-     * @param url       url
-     * @param keepAlive keepAlive
-     * @return JSONObject
+     * @param url     url
+     * @param params  参数
+     * @param headers headers
+     * @param clazz   类型
+     * @return T
      */
-    public JSONObject doPost(String url, boolean keepAlive) {
-        return doPost(url, new HashMap<>(), new HashMap<>(), keepAlive);
+    public <T> T doGet(String url, Map<String, Object> params, Map<String, String> headers, Class<T> clazz) {
+        return doGetForReader(url, params, headers, reader -> reader.readObject(clazz));
     }
 
     /**
-     * 发送 POST 请求
+     * 发送 GET 请求，直接从响应流反序列化为指定的泛型类型
+     *
+     * @param url  url
+     * @param type 类型
+     * @return T
+     */
+    public <T> T doGet(String url, TypeReference<T> type) {
+        return doGetForReader(url, null, null, reader -> reader.readObject(type.getType()));
+    }
+
+    /**
+     * 发送 GET 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回
+     *
+     * @param url   url
+     * @param clazz 类型
+     * @return HttpResult
+     */
+    public <T> HttpResult<T> doGetForResult(String url, Class<T> clazz) {
+        return doGetForResult(url, null, null, (Type) clazz);
+    }
+
+    /**
+     * 发送 GET 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回
+     *
+     * @param url  url
+     * @param type 类型
+     * @return HttpResult
+     */
+    public <T> HttpResult<T> doGetForResult(String url, TypeReference<T> type) {
+        return doGetForResult(url, null, null, type.getType());
+    }
+
+    /**
+     * 发送 GET 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回，发生 IO 异常时返回 null
      *
      * @param url     url
-     * @param params  params
+     * @param params  参数
      * @param headers headers
+     * @param type    类型
+     * @return HttpResult
      */
-    public JSONObject doPost(String url, Map<String, Object> params, Map<String, String> headers) {
-        return doPost(url, params, headers, true);
+    public <T> HttpResult<T> doGetForResult(String url, Map<String, Object> params, Map<String, String> headers, Type type) {
+        HttpGet httpGet = new HttpGet(buildUrl(url, params));
+        httpGet.setConfig(getRequestConfig(httpGet.getURI()));
+        setHeaders(httpGet, headers, true);
+        return execute(httpGet, response -> toHttpResult(response, type));
     }
 
     /**
-     * 发送 POST 请求
+     * 发送 JSON POST 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回
      *
-     * @param url       url
-     * @param params    params
-     * @param headers   headers
-     * @param keepAlive keepAlive
+     * @param url   url
+     * @param body  请求体，String 原样发送，其他对象序列化为 JSON
+     * @param clazz 类型
+     * @return HttpResult
      */
-    public JSONObject doPost(String url, Map<String, Object> params, Map<String, String> headers, boolean keepAlive) {
-        CloseableHttpClient httpClient = getCloseableHttpClient(url, keepAlive);
-        String httpStr = null;
-        int statusCode = 0;
+    public <T> HttpResult<T> doPostForResult(String url, Object body, Class<T> clazz) {
+        return doPostForResult(url, body, null, (Type) clazz);
+    }
+
+    /**
+     * 发送 JSON POST 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回
+     *
+     * @param url  url
+     * @param body 请求体，String 原样发送，其他对象序列化为 JSON
+     * @param type 类型
+     * @return HttpResult
+     */
+    public <T> HttpResult<T> doPostForResult(String url, Object body, TypeReference<T> type) {
+        return doPostForResult(url, body, null, type.getType());
+    }
+
+    /**
+     * 发送 JSON POST 请求，响应体直接从响应流反序列化为指定类型，连同响应码和响应头一起返回，发生 IO 异常时返回 null
+     *
+     * @param url     url
+     * @param body    请求体，String 原样发送，其他对象序列化为 JSON
+     * @param headers headers
+     * @param type    类型
+     * @return HttpResult
+     */
+    public <T> HttpResult<T> doPostForResult(String url, Object body, Map<String, String> headers, Type type) {
         HttpPost httpPost = new HttpPost(url);
-        httpPost.setConfig(requestConfig);
-        CloseableHttpResponse response = null;
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        setHeaders(httpPost, headers, true);
+        if (body instanceof String) {
+            httpPost.setEntity(createJsonEntity((String) body));
+            return execute(httpPost, response -> toHttpResult(response, type));
+        }
+        JsonBuffer buffer = JsonBuffer.serialize(body);
+        try {
+            httpPost.setEntity(createJsonEntity(buffer.array(), 0, buffer.size()));
+            return execute(httpPost, response -> toHttpResult(response, type));
+        } finally {
+            buffer.release();
+        }
+    }
 
-        if (params == null) {
-            params = new HashMap<>();
+    /**
+     * 将响应转换为 HttpResult，错误响应的响应体无法按指定类型反序列化时 body 为 null
+     *
+     * @param response response
+     * @param type     类型
+     * @return HttpResult
+     */
+    private static <T> HttpResult<T> toHttpResult(HttpResponse response, Type type) throws IOException {
+        int statusCode = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        T body = null;
+        if (entity != null) {
+            try (InputStream in = entity.getContent()) {
+                body = JSON.parseObject(in, StandardCharsets.UTF_8, type);
+            } catch (JSONException e) {
+                if (statusCode < HttpStatus.SC_BAD_REQUEST) {
+                    throw e;
+                }
+            }
+        }
+        return new HttpResult<>(statusCode, response.getAllHeaders(), body);
+    }
+
+    /**
+     * 发送 GET 请求，以 JSONReader 的方式逐步读取响应，适用于大体积的 JSON 响应
+     *
+     * @param url     url
+     * @param params  参数
+     * @param headers headers
+     * @param handler JSONReader 处理器
+     * @return T
+     */
+    public <T> T doGetForReader(String url, Map<String, Object> params, Map<String, String> headers, JSONReaderHandler<T> handler) {
+        return doGetForStream(url, params, headers, in -> {
+            try (JSONReader reader = new JSONReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                return handler.handle(reader);
+            }
+        });
+    }
+
+    /**
+     * 发送 GET 请求，由 handler 直接读取响应流，流在 handler 返回后关闭并归还连接
+     *
+     * @param url     url
+     * @param params  参数
+     * @param headers headers
+     * @param handler 响应流处理器
+     * @return T
+     */
+    public <T> T doGetForStream(String url, Map<String, Object> params, Map<String, String> headers, ResponseStreamHandler<T> handler) {
+        HttpGet httpGet = new HttpGet(buildUrl(url, params));
+        httpGet.setConfig(getRequestConfig(httpGet.getURI()));
+        setHeaders(httpGet, headers, true);
+        return execute(httpGet, response -> {
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return null;
+            }
+            try (InputStream in = entity.getContent()) {
+                return handler.handle(in);
+            }
+        });
+    }
+
+    /**
+     * 执行请求，响应由 responseHandler 处理后自动释放连接，发生 IO 异常时返回 null
+     *
+     * @param request         request
+     * @param responseHandler responseHandler
+     * @return T
+     */
+    private <T> T execute(HttpRequestBase request, ResponseHandler<T> responseHandler) {
+        try (CloseableHttpResponse response = execute(request)) {
+            T result = responseHandler.handleResponse(response);
+            EntityUtils.consume(response.getEntity());
+            return result;
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        } finally {
+            request.releaseConnection();
+        }
+    }
+
+    /**
+     * 执行请求，启用了对冲的 GET 请求按对冲策略执行
+     *
+     * @param request request
+     * @return CloseableHttpResponse
+     */
+    CloseableHttpResponse execute(HttpRequestBase request) throws IOException {
+        if (hedger != null && request instanceof HttpGet && !request.containsHeader(HttpHeaders.RANGE)) {
+            HttpHost host = URIUtils.extractHost(request.getURI());
+            if (host != null) {
+                host = normalizeHost(host);
+                if (routeHedges.getOrDefault(host, config.hedgePolicy.enabled)) {
+                    return hedger.execute(host.toURI(), (HttpGet) request, this::executeWithRetry);
+                }
+            }
+        }
+        return executeWithRetry(request);
+    }
+
+    /**
+     * 执行请求，按重试策略重试，熔断器打开时直接抛出 CircuitBreakerOpenException
+     *
+     * @param request request
+     * @return CloseableHttpResponse
+     */
+    private CloseableHttpResponse executeWithRetry(HttpRequestBase request) throws IOException {
+        String url = request.getURI().toString();
+        CircuitBreaker circuitBreaker = getCircuitBreaker(request.getURI());
+        RateLimiter rateLimiter = getRateLimiter(request.getURI());
+        retryBudget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            RequestTimer timer = config.eventListeners.isEmpty() ? null : RequestTimer.attach(config.eventListeners, getRoute(request.getURI()));
+            CloseableHttpResponse response;
+            try {
+                admit(rateLimiter, circuitBreaker, url, timer);
+                try {
+                    response = http2Transport != null ? http2Transport.execute(request) : httpClient.execute(request);
+                } catch (IOException e) {
+                    // 被主动中止（如对冲请求已胜出）不算失败，也不重试
+                    if (request.isAborted()) {
+                        if (circuitBreaker != null) {
+                            circuitBreaker.onCancelled();
+                        }
+                        throw e;
+                    }
+                    if (timer != null) {
+                        timer.failed(e);
+                    }
+                    if (circuitBreaker != null) {
+                        circuitBreaker.onFailure();
+                    }
+                    if (!canRetry(request, attempt, e)) {
+                        throw e;
+                    }
+                    logger.warn("Retrying {} after attempt {} failed: {}", url, attempt, e.toString());
+                    backoff(attempt);
+                    continue;
+                }
+                if (timer != null && !timer.isResponded()) {
+                    timer.responseReceived(response);
+                }
+            } finally {
+                if (timer != null) {
+                    timer.detach();
+                }
+            }
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (circuitBreaker != null) {
+                if (statusCode >= 500) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            }
+            if (!config.retryPolicy.retryStatusCodes.contains(statusCode) || !canRetry(request, attempt, null)) {
+                return response;
+            }
+            logger.warn("Retrying {} after attempt {} returned {}", url, attempt, statusCode);
+            EntityUtils.consume(response.getEntity());
+            response.close();
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * 是否可以重试，请求体不可重复读取时不重试
+     *
+     * @param request request
+     * @param attempt 已尝试次数
+     * @param e       异常，响应码触发重试时为 null
+     * @return boolean
+     */
+    private boolean canRetry(HttpRequestBase request, int attempt, IOException e) {
+        RetryPolicy retryPolicy = config.retryPolicy;
+        if (attempt >= retryPolicy.maxAttempts) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null && !entity.isRepeatable()) {
+                return false;
+            }
+        }
+        // 连接失败时请求未发出，重试是安全的
+        boolean notSent = e instanceof ConnectException || e instanceof ConnectTimeoutException;
+        if (retryPolicy.idempotentOnly && !notSent && !isIdempotent(request)) {
+            return false;
+        }
+        return retryBudget.tryWithdraw();
+    }
+
+    private static boolean isIdempotent(HttpRequestBase request) {
+        String method = request.getMethod();
+        return !HttpPost.METHOD_NAME.equals(method) && !HttpPatch.METHOD_NAME.equals(method);
+    }
+
+    /**
+     * 指数退避，带随机抖动
+     *
+     * @param attempt 已尝试次数
+     */
+    private void backoff(int attempt) throws InterruptedIOException {
+        RetryPolicy retryPolicy = config.retryPolicy;
+        long delay = Math.min(retryPolicy.maxBackoff, retryPolicy.backoff << Math.min(attempt - 1, 30));
+        delay -= (long) (delay * retryPolicy.jitter * ThreadLocalRandom.current().nextDouble());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * 发出请求前的准入检查：等待限流令牌，熔断器打开时直接失败。每次尝试都会发出请求，都需要令牌
+     *
+     * @param rateLimiter    限流器，未配置时为 null
+     * @param circuitBreaker 熔断器，未启用时为 null
+     * @param url            url
+     * @param timer          计时器，未启用计时时为 null
+     */
+    private static void admit(RateLimiter rateLimiter, CircuitBreaker circuitBreaker, String url, RequestTimer timer) throws IOException {
+        try {
+            if (rateLimiter != null) {
+                acquire(rateLimiter, url, timer);
+            }
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                throw new CircuitBreakerOpenException(url);
+            }
+        } catch (IOException e) {
+            if (timer != null) {
+                timer.failed(e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 阻塞等待令牌，等待时间超过 rateLimitTimeout 时抛出 RateLimitExceededException
+     *
+     * @param rateLimiter rateLimiter
+     * @param url         url
+     * @param timer       计时器，未启用计时时为 null
+     */
+    private static void acquire(RateLimiter rateLimiter, String url, RequestTimer timer) throws IOException {
+        long waitNanos = rateLimiter.reserve();
+        if (waitNanos < 0) {
+            throw new RateLimitExceededException(url);
+        }
+        if (timer != null) {
+            timer.record(HttpPhase.RATE_LIMIT, waitNanos);
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    private static String getRoute(URI uri) {
+        HttpHost host = URIUtils.extractHost(uri);
+        return host != null ? normalizeHost(host).toURI() : uri.toString();
+    }
+
+    /**
+     * 获取路由对应的限流器，未配置限流时返回 null
+     *
+     * @param uri URI
+     * @return RateLimiter
+     */
+    private RateLimiter getRateLimiter(URI uri) {
+        if (rateLimiters.isEmpty()) {
+            return null;
+        }
+        HttpHost host = URIUtils.extractHost(uri);
+        return host != null ? rateLimiters.get(normalizeHost(host)) : null;
+    }
+
+    /**
+     * 获取路由对应的熔断器，未启用熔断时返回 null
+     *
+     * @param uri URI
+     * @return CircuitBreaker
+     */
+    private CircuitBreaker getCircuitBreaker(URI uri) {
+        if (config.circuitBreakerThreshold <= 0) {
+            return null;
+        }
+        HttpHost host = URIUtils.extractHost(uri);
+        if (host == null) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(normalizeHost(host),
+                key -> new CircuitBreaker(config.circuitBreakerThreshold, config.circuitBreakerOpenTime));
+    }
+
+    /**
+     * 拼接 GET 请求参数，参数名及参数值按 UTF-8 编码，集合或数组按多值参数展开
+     *
+     * @param url    url
+     * @param params 参数
+     * @return String
+     */
+    private static String buildUrl(String url, Map<String, Object> params) {
+        return QueryStringBuilder.build(url, params);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url url
+     * @return JSONObject
+     */
+    public JSONObject doPost(String url) {
+        return doPost(url, new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param keepAlive keepAlive
+     * @return JSONObject
+     */
+    public JSONObject doPost(String url, boolean keepAlive) {
+        return doPost(url, new HashMap<>(), new HashMap<>(), keepAlive);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url     url
+     * @param params  params
+     * @param headers headers
+     */
+    public JSONObject doPost(String url, Map<String, Object> params, Map<String, String> headers) {
+        return doPost(url, params, headers, true);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param params    params
+     * @param headers   headers
+     * @param keepAlive keepAlive
+     */
+    public JSONObject doPost(String url, Map<String, Object> params, Map<String, String> headers, boolean keepAlive) {
+        String httpStr = null;
+        int statusCode = 0;
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        CloseableHttpResponse response = null;
+
+        if (params == null) {
+            params = new HashMap<>();
+        }
+
+        try {
+            List<NameValuePair> pairList = new ArrayList<>(params.size());
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                NameValuePair pair = new BasicNameValuePair(entry.getKey(), entry.getValue().toString());
+                pairList.add(pair);
+            }
+            httpPost.setEntity(new UrlEncodedFormEntity(pairList, StandardCharsets.UTF_8));
+            setHeaders(httpPost, headers, keepAlive);
+
+            response = execute(httpPost);
+            statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            httpStr = EntityUtils.toString(entity, "UTF-8");
+
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            httpPost.releaseConnection();
+            if (null != response) {
+                try {
+                    EntityUtils.consume(response.getEntity());
+                    response.close();
+                } catch (IOException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+        return handleJsonObject(statusCode, httpStr);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param jsonArray JSONArray
+     */
+    public JSONObject doPost(String url, JSONArray jsonArray) {
+        return doPost(url, (Object) jsonArray, null);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param jsonArray JSONArray
+     * @param keepAlive keepAlive
+     */
+    public JSONObject doPost(String url, JSONArray jsonArray, boolean keepAlive) {
+        return doPost(url, (Object) jsonArray, null, keepAlive);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url        url
+     * @param jsonObject JSONObject
+     */
+    public JSONObject doPost(String url, JSONObject jsonObject) {
+        return doPost(url, (Object) jsonObject, null);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url        url
+     * @param jsonObject JSONObject
+     * @param keepAlive  keepAlive
+     */
+    public JSONObject doPost(String url, JSONObject jsonObject, boolean keepAlive) {
+        return doPost(url, (Object) jsonObject, null, keepAlive);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param jsonArray JSONObject
+     * @param headers   headers
+     */
+    public JSONObject doPost(String url, JSONArray jsonArray, Map<String, String> headers) {
+        return doPost(url, (Object) jsonArray, headers);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param jsonArray JSONObject
+     * @param headers   headers
+     * @param keepAlive keepAlive
+     */
+    public JSONObject doPost(String url, JSONArray jsonArray, Map<String, String> headers, boolean keepAlive) {
+        return doPost(url, (Object) jsonArray, headers, keepAlive);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url        url
+     * @param jsonObject JSONObject
+     * @param headers    headers
+     */
+    public JSONObject doPost(String url, JSONObject jsonObject, Map<String, String> headers) {
+        return doPost(url, (Object) jsonObject, headers);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url        url
+     * @param jsonObject JSONObject
+     * @param headers    headers
+     * @param keepAlive  keepAlive
+     */
+    public JSONObject doPost(String url, JSONObject jsonObject, Map<String, String> headers, boolean keepAlive) {
+        return doPost(url, (Object) jsonObject, headers, keepAlive);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url      url
+     * @param paramKey 参数名
+     * @param in       输入流
+     * @param fileName 文件名称
+     */
+    public JSONObject doPost(String url, String paramKey, InputStream in, String fileName) throws IOException {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.addBinaryBody(paramKey, in, ContentType.MULTIPART_FORM_DATA, fileName);
+        HttpEntity entity = builder.build();
+        httpPost.setEntity(entity);
+
+        try (CloseableHttpResponse response = execute(httpPost)) {
+            HttpEntity responseEntity = response.getEntity();
+            if (responseEntity != null) {
+                String result = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
+                return JSON.parseObject(result);
+            }
+            return null;
+        } finally {
+            httpPost.releaseConnection();
+        }
+    }
+
+    /**
+     * 发送 POST 请求，请求体为已序列化的 JSON
+     *
+     * @param url  url
+     * @param body UTF-8 编码的 JSON
+     */
+    public JSONObject doPost(String url, byte[] body) {
+        return doPost(url, body, null);
+    }
+
+    /**
+     * 发送 POST 请求，请求体为已序列化的 JSON，Content-Type 可通过 headers 覆盖
+     *
+     * @param url     url
+     * @param body    UTF-8 编码的 JSON
+     * @param headers headers
+     */
+    public JSONObject doPost(String url, byte[] body, Map<String, String> headers) {
+        return doPost(url, body, 0, body.length, headers);
+    }
+
+    /**
+     * 发送 POST 请求，请求体为已序列化的 JSON
+     *
+     * @param url  url
+     * @param body UTF-8 编码的 JSON，发送 position 至 limit 之间的内容，不改变其 position
+     */
+    public JSONObject doPost(String url, ByteBuffer body) {
+        return doPost(url, body, null);
+    }
+
+    /**
+     * 发送 POST 请求，请求体为已序列化的 JSON，Content-Type 可通过 headers 覆盖
+     * <p>
+     * 堆内 ByteBuffer 直接发送其底层数组，直接内存的 ByteBuffer 需复制一次
+     *
+     * @param url     url
+     * @param body    UTF-8 编码的 JSON，发送 position 至 limit 之间的内容，不改变其 position
+     * @param headers headers
+     */
+    public JSONObject doPost(String url, ByteBuffer body, Map<String, String> headers) {
+        if (body.hasArray()) {
+            return doPost(url, body.array(), body.arrayOffset() + body.position(), body.remaining(), headers);
+        }
+        byte[] bytes = new byte[body.remaining()];
+        body.duplicate().get(bytes);
+        return doPost(url, bytes, 0, bytes.length, headers);
+    }
+
+    private JSONObject doPost(String url, byte[] body, int offset, int length, Map<String, String> headers) {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        httpPost.setEntity(createJsonEntity(body, offset, length));
+        setHeaders(httpPost, headers, true);
+        return executeForJson(httpPost);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url     url
+     * @param json    JSONObject
+     * @param headers headers
+     */
+    private JSONObject doPost(String url, Object json, Map<String, String> headers) {
+        return doPost(url, json, headers, true);
+    }
+
+    /**
+     * 发送 POST 请求
+     *
+     * @param url       url
+     * @param json      JSONObject
+     * @param headers   headers
+     * @param keepAlive keepAlive
+     */
+    private JSONObject doPost(String url, Object json, Map<String, String> headers, boolean keepAlive) {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        setHeaders(httpPost, headers, keepAlive);
+        if (json instanceof String) {
+            httpPost.setEntity(createJsonEntity((String) json));
+            return executeForJson(httpPost);
+        }
+        // 同步请求在当前线程内发送完毕（包括重试），请求体可直接引用线程复用的缓冲区
+        JsonBuffer buffer = JsonBuffer.serialize(json);
+        try {
+            httpPost.setEntity(createJsonEntity(buffer.array(), 0, buffer.size()));
+            return executeForJson(httpPost);
+        } finally {
+            buffer.release();
         }
+    }
 
+    /**
+     * 执行请求并将响应解析为 JSONObject，发生 IO 异常时只记录日志
+     *
+     * @param httpPost httpPost
+     * @return JSONObject
+     */
+    private JSONObject executeForJson(HttpPost httpPost) {
+        String httpStr = null;
+        CloseableHttpResponse response = null;
+        int statusCode = 0;
         try {
-            List<NameValuePair> pairList = new ArrayList<>(params.size());
-            for (Map.Entry<String, Object> entry : params.entrySet()) {
-                NameValuePair pair = new BasicNameValuePair(entry.getKey(), entry.getValue().toString());
-                pairList.add(pair);
-            }
-            httpPost.setEntity(new UrlEncodedFormEntity(pairList, StandardCharsets.UTF_8));
-
-            if (headers != null && headers.size() > 0) {
-                headers.forEach(httpPost::setHeader);
-            }
-
-            response = httpClient.execute(httpPost);
+            response = execute(httpPost);
             statusCode = response.getStatusLine().getStatusCode();
             HttpEntity entity = response.getEntity();
             httpStr = EntityUtils.toString(entity, "UTF-8");
-
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         } finally {
@@ -352,7 +1583,6 @@ public class HttpUtils {
                 try {
                     EntityUtils.consume(response.getEntity());
                     response.close();
-                    httpClient.close();
                 } catch (IOException e) {
                     logger.error(e.getMessage(), e);
                 }
@@ -362,174 +1592,434 @@ public class HttpUtils {
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 GET 请求
      *
-     * @param url       url
-     * @param jsonArray JSONArray
+     * @param url url
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONArray jsonArray) {
-        return doPost(url, jsonArray.toJSONString(), null);
+    public CompletableFuture<JSONObject> doGetAsync(String url) {
+        return doGetAsync(url, null, null);
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 GET 请求
      *
-     * @param url       url
-     * @param jsonArray JSONArray
-     * @param keepAlive keepAlive
+     * @param url     url
+     * @param headers headers
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONArray jsonArray, boolean keepAlive) {
-        return doPost(url, jsonArray.toJSONString(), null, keepAlive);
+    public CompletableFuture<JSONObject> doGetAsync(String url, Map<String, String> headers) {
+        return doGetAsync(url, null, headers);
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 GET 请求
+     *
+     * @param url     url
+     * @param params  参数
+     * @param headers headers
+     * @return CompletableFuture
+     */
+    public CompletableFuture<JSONObject> doGetAsync(String url, Map<String, Object> params, Map<String, String> headers) {
+        HttpGet httpGet = new HttpGet(buildUrl(url, params));
+        httpGet.setConfig(getRequestConfig(httpGet.getURI()));
+        setHeaders(httpGet, headers, true);
+        return executeAsync(httpGet);
+    }
+
+    /**
+     * 异步发送 POST 请求
+     *
+     * @param url     url
+     * @param params  params
+     * @param headers headers
+     * @return CompletableFuture
+     */
+    public CompletableFuture<JSONObject> doPostAsync(String url, Map<String, Object> params, Map<String, String> headers) {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        List<NameValuePair> pairList = new ArrayList<>();
+        if (params != null) {
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                pairList.add(new BasicNameValuePair(entry.getKey(), entry.getValue().toString()));
+            }
+        }
+        httpPost.setEntity(new UrlEncodedFormEntity(pairList, StandardCharsets.UTF_8));
+        setHeaders(httpPost, headers, true);
+        return executeAsync(httpPost);
+    }
+
+    /**
+     * 异步发送 POST 请求
      *
      * @param url        url
      * @param jsonObject JSONObject
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONObject jsonObject) {
-        return doPost(url, jsonObject.toJSONString(), null);
+    public CompletableFuture<JSONObject> doPostAsync(String url, JSONObject jsonObject) {
+        return doPostAsync(url, jsonObject, null);
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 POST 请求
      *
      * @param url        url
      * @param jsonObject JSONObject
-     * @param keepAlive  keepAlive
+     * @param headers    headers
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONObject jsonObject, boolean keepAlive) {
-        return doPost(url, jsonObject.toJSONString(), null, keepAlive);
+    public CompletableFuture<JSONObject> doPostAsync(String url, JSONObject jsonObject, Map<String, String> headers) {
+        return doPostJsonAsync(url, jsonObject.toJSONString(), headers);
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 POST 请求
      *
      * @param url       url
-     * @param jsonArray JSONObject
-     * @param headers   headers
+     * @param jsonArray JSONArray
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONArray jsonArray, Map<String, String> headers) {
-        return doPost(url, jsonArray.toJSONString(), headers);
+    public CompletableFuture<JSONObject> doPostAsync(String url, JSONArray jsonArray) {
+        return doPostAsync(url, jsonArray, null);
     }
 
     /**
-     * 发送 POST 请求
+     * 异步发送 POST 请求
      *
      * @param url       url
-     * @param jsonArray JSONObject
+     * @param jsonArray JSONArray
      * @param headers   headers
-     * @param keepAlive keepAlive
+     * @return CompletableFuture
      */
-    public JSONObject doPost(String url, JSONArray jsonArray, Map<String, String> headers, boolean keepAlive) {
-        return doPost(url, jsonArray.toJSONString(), headers, keepAlive);
+    public CompletableFuture<JSONObject> doPostAsync(String url, JSONArray jsonArray, Map<String, String> headers) {
+        return doPostJsonAsync(url, jsonArray.toJSONString(), headers);
+    }
+
+    private CompletableFuture<JSONObject> doPostJsonAsync(String url, String json, Map<String, String> headers) {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
+        httpPost.setEntity(createJsonEntity(json));
+        setHeaders(httpPost, headers, true);
+        return executeAsync(httpPost);
     }
 
     /**
-     * 发送 POST 请求
+     * 创建 JSON 请求体，启用压缩且超过阈值时以 gzip 发送
      *
-     * @param url        url
-     * @param jsonObject JSONObject
-     * @param headers    headers
+     * @param json json
+     * @return HttpEntity
      */
-    public JSONObject doPost(String url, JSONObject jsonObject, Map<String, String> headers) {
-        return doPost(url, jsonObject.toJSONString(), headers);
+    private HttpEntity createJsonEntity(String json) {
+        if (config.compression && json.length() >= config.compressionThreshold) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            return createGzipEntity(bytes, 0, bytes.length);
+        }
+        StringEntity stringEntity = new StringEntity(json, "UTF-8"); // 解决中文乱码问题
+        stringEntity.setContentEncoding("UTF-8");
+        stringEntity.setContentType("application/json");
+        return stringEntity;
     }
 
     /**
-     * 发送 POST 请求
+     * 以 UTF-8 编码的 JSON 字节创建请求体，不复制字节，启用压缩且超过阈值时以 gzip 发送
      *
-     * @param url        url
-     * @param jsonObject JSONObject
-     * @param headers    headers
-     * @param keepAlive  keepAlive
+     * @param json   json
+     * @param offset 起始位置
+     * @param length 长度
+     * @return HttpEntity
      */
-    public JSONObject doPost(String url, JSONObject jsonObject, Map<String, String> headers, boolean keepAlive) {
-        return doPost(url, jsonObject.toJSONString(), headers, keepAlive);
+    private HttpEntity createJsonEntity(byte[] json, int offset, int length) {
+        if (config.compression && length >= config.compressionThreshold) {
+            return createGzipEntity(json, offset, length);
+        }
+        ByteArrayEntity entity = new ByteArrayEntity(json, offset, length);
+        entity.setContentEncoding("UTF-8");
+        entity.setContentType("application/json");
+        return entity;
+    }
+
+    private static HttpEntity createGzipEntity(byte[] bytes, int offset, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteArrayEntity entity = new ByteArrayEntity(out.toByteArray(), ContentType.APPLICATION_JSON);
+        entity.setContentEncoding("gzip");
+        return entity;
     }
 
     /**
-     * 发送 POST 请求
+     * 按 Content-Encoding 解压响应，同步客户端已内置该处理，此处用于异步客户端
      *
-     * @param url      url
-     * @param paramKey 参数名
-     * @param in       输入流
-     * @param fileName 文件名称
+     * @param entity entity
+     * @return HttpEntity
      */
-    public JSONObject doPost(String url, String paramKey, InputStream in, String fileName) throws IOException {
-        CloseableHttpClient httpClient = HttpClients.createDefault();
-        HttpPost httpPost = new HttpPost(url);
-        httpPost.setConfig(requestConfig);
-        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        builder.addBinaryBody(paramKey, in, ContentType.MULTIPART_FORM_DATA, fileName);
-        HttpEntity entity = builder.build();
-        httpPost.setEntity(entity);
-
-        HttpResponse response = httpClient.execute(httpPost);
-        HttpEntity responseEntity = response.getEntity();
-        if (responseEntity != null) {
-            String result = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
-            return JSON.parseObject(result);
+    private static HttpEntity decompress(HttpEntity entity) {
+        Header contentEncoding = entity.getContentEncoding();
+        if (contentEncoding != null) {
+            for (HeaderElement element : contentEncoding.getElements()) {
+                String codec = element.getName();
+                if ("gzip".equalsIgnoreCase(codec) || "x-gzip".equalsIgnoreCase(codec)) {
+                    return new GzipDecompressingEntity(entity);
+                } else if ("deflate".equalsIgnoreCase(codec)) {
+                    return new DeflateDecompressingEntity(entity);
+                }
+            }
         }
-        return null;
+        return entity;
     }
 
     /**
-     * 发送 POST 请求
+     * 批量发送请求，同一时刻最多 maxConcurrency 个请求在途，结果按输入顺序返回
      *
-     * @param url     url
-     * @param json    JSONObject
-     * @param headers headers
+     * @param specs          请求列表
+     * @param maxConcurrency 最大并发数
+     * @return List
      */
-    private JSONObject doPost(String url, Object json, Map<String, String> headers) {
-        return doPost(url, json, headers, true);
+    public List<RequestResult> executeAll(List<RequestSpec> specs, int maxConcurrency) {
+        RequestResult[] results = new RequestResult[specs.size()];
+        executeAll(specs, maxConcurrency, result -> results[result.getIndex()] = result);
+        return Arrays.asList(results);
     }
 
     /**
-     * 发送 POST 请求
+     * 批量发送请求，同一时刻最多 maxConcurrency 个请求在途，每个请求完成后立即回调，全部完成后返回
+     * <p>
+     * callback 在异步客户端的 I/O 线程中执行，不应在其中执行阻塞操作；启用虚拟线程时在请求所在的虚拟线程中执行。
+     * 调用线程被中断时取消在途的请求，未发送的请求以 InterruptedException 回调，所有回调结束后恢复中断状态并返回
      *
-     * @param url       url
-     * @param json      JSONObject
-     * @param headers   headers
-     * @param keepAlive keepAlive
+     * @param specs          请求列表
+     * @param maxConcurrency 最大并发数
+     * @param callback       回调
+     * @throws IllegalArgumentException maxConcurrency 小于等于 0
      */
-    private JSONObject doPost(String url, Object json, Map<String, String> headers, boolean keepAlive) {
-        CloseableHttpClient httpClient = getCloseableHttpClient(url, keepAlive);
-        String httpStr = null;
-        HttpPost httpPost = new HttpPost(url);
-        httpPost.setConfig(requestConfig);
-        CloseableHttpResponse response = null;
-        int statusCode = 0;
+    public void executeAll(List<RequestSpec> specs, int maxConcurrency, Consumer<RequestResult> callback) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0: " + maxConcurrency);
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        CountDownLatch latch = new CountDownLatch(specs.size());
+        List<CompletableFuture<JSONObject>> futures = new ArrayList<>(specs.size());
+        int index = 0;
         try {
-            StringEntity stringEntity = new StringEntity(json.toString(), "UTF-8"); // 解决中文乱码问题
-            stringEntity.setContentEncoding("UTF-8");
-            stringEntity.setContentType("application/json");
-            httpPost.setEntity(stringEntity);
+            for (; index < specs.size(); index++) {
+                final int i = index;
+                final RequestSpec spec = specs.get(i);
+                permits.acquire();
+                CompletableFuture<JSONObject> future;
+                try {
+                    future = executeAsync(spec);
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                futures.add(future);
+                future.whenComplete((response, error) -> {
+                    permits.release();
+                    try {
+                        callback.accept(new RequestResult(i, spec, response, error));
+                    } catch (RuntimeException e) {
+                        logger.error(e.getMessage(), e);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        } catch (InterruptedException e) {
+            // 取消在途的请求，其回调以 CancellationException 立即执行
+            for (CompletableFuture<JSONObject> future : futures) {
+                future.cancel(true);
+            }
+            for (; index < specs.size(); index++) {
+                try {
+                    callback.accept(new RequestResult(index, specs.get(index), null, e));
+                } catch (RuntimeException ex) {
+                    logger.error(ex.getMessage(), ex);
+                } finally {
+                    latch.countDown();
+                }
+            }
+            // 等待正在 I/O 线程中执行的回调结束，返回后不再回调
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException ignored) {
+                    // 中断状态在返回前恢复
+                }
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<JSONObject> executeAsync(RequestSpec spec) {
+        if (spec.getMethod() == RequestSpec.Method.GET) {
+            return doGetAsync(spec.getUrl(), spec.getParams(), spec.getHeaders());
+        }
+        Object body = spec.getBody();
+        if (body == null) {
+            return doPostAsync(spec.getUrl(), spec.getParams(), spec.getHeaders());
+        }
+        String json = body instanceof String ? (String) body : JSON.toJSONString(body);
+        return doPostJsonAsync(spec.getUrl(), json, spec.getHeaders());
+    }
 
-            if (headers != null && headers.size() > 0) {
-                headers.forEach(httpPost::setHeader);
+    /**
+     * 通过异步客户端执行请求，请求失败或被取消时 CompletableFuture 以异常结束，取消 CompletableFuture 时中止请求
+     *
+     * @param request request
+     * @return CompletableFuture
+     */
+    private CompletableFuture<JSONObject> executeAsync(HttpRequestBase request) {
+        if (virtualThreadExecutor != null) {
+            return executeOnVirtualThread(request);
+        }
+        CompletableFuture<JSONObject> future = new CompletableFuture<>();
+        RateLimiter rateLimiter = getRateLimiter(request.getURI());
+        long waitNanos = rateLimiter != null ? rateLimiter.reserve() : 0;
+        if (waitNanos < 0) {
+            future.completeExceptionally(new RateLimitExceededException(request.getURI().toString()));
+        } else if (waitNanos > 0) {
+            // 令牌预约成功后延迟提交，不阻塞调用线程
+            try {
+                rateLimitScheduler.schedule(() -> {
+                    if (future.isDone()) {
+                        return;
+                    }
+                    try {
+                        executeAsync(request, future);
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }, waitNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
             }
+        } else {
+            executeAsync(request, future);
+        }
+        return future;
+    }
 
-            response = httpClient.execute(httpPost);
-            statusCode = response.getStatusLine().getStatusCode();
-            HttpEntity entity = response.getEntity();
-            httpStr = EntityUtils.toString(entity, "UTF-8");
-        } catch (IOException e) {
-            logger.error(e.getMessage(), e);
-        } finally {
-            httpPost.releaseConnection();
-            if (null != response) {
+    private void executeAsync(HttpRequestBase request, CompletableFuture<JSONObject> future) {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(request.getURI());
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            future.completeExceptionally(new CircuitBreakerOpenException(request.getURI().toString()));
+            return;
+        }
+        if (config.compression && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip,deflate");
+        }
+        RequestTimer timer = config.eventListeners.isEmpty() ? null : new RequestTimer(config.eventListeners, getRoute(request.getURI()));
+        Future<HttpResponse> exchange = getAsyncHttpClient().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                if (timer != null) {
+                    timer.finish();
+                }
+                if (circuitBreaker != null) {
+                    if (response.getStatusLine().getStatusCode() >= 500) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                }
                 try {
-                    EntityUtils.consume(response.getEntity());
-                    response.close();
-                    httpClient.close();
-                } catch (IOException e) {
-                    logger.error(e.getMessage(), e);
+                    HttpEntity entity = response.getEntity();
+                    String httpStr = entity != null ? EntityUtils.toString(decompress(entity), StandardCharsets.UTF_8) : null;
+                    future.complete(handleJsonObject(response.getStatusLine().getStatusCode(), httpStr));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                if (timer != null && ex instanceof IOException) {
+                    timer.failed((IOException) ex);
+                }
+                if (circuitBreaker != null) {
+                    circuitBreaker.onFailure();
+                }
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onCancelled();
+                }
+                future.cancel(false);
+            }
+        });
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * 在虚拟线程上通过同步客户端执行请求，共享连接池、重试及熔断逻辑
+     * <p>
+     * 连接池在 synchronized 块中等待空闲连接，会占住虚拟线程的载体线程，因此先按连接池容量获取许可，
+     * 保证进入连接池时总有空闲连接，排队的虚拟线程阻塞在 Semaphore 上而不占用载体线程
+     *
+     * @param request request
+     * @return CompletableFuture
+     */
+    private CompletableFuture<JSONObject> executeOnVirtualThread(HttpRequestBase request) {
+        CompletableFuture<JSONObject> future = new CompletableFuture<>();
+        try {
+            virtualThreadExecutor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    Semaphore routePermits = getVirtualThreadRoutePermits(request.getURI());
+                    routePermits.acquire();
+                    try {
+                        virtualThreadPermits.acquire();
+                        try (CloseableHttpResponse response = execute(request)) {
+                            HttpEntity entity = response.getEntity();
+                            String httpStr = entity != null ? EntityUtils.toString(entity, StandardCharsets.UTF_8) : null;
+                            future.complete(handleJsonObject(response.getStatusLine().getStatusCode(), httpStr));
+                        } finally {
+                            virtualThreadPermits.release();
+                        }
+                    } finally {
+                        routePermits.release();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                request.abort();
             }
+        });
+        return future;
+    }
+
+    private Semaphore getVirtualThreadRoutePermits(URI uri) throws ClientProtocolException {
+        HttpHost target = URIUtils.extractHost(uri);
+        if (target == null) {
+            // 与同步客户端相同的异常，由调用者以异常结束 CompletableFuture
+            throw new ClientProtocolException("URI does not specify a valid host name: " + uri);
         }
-        return handleJsonObject(statusCode, httpStr);
+        HttpHost host = normalizeHost(target);
+        HttpRoute route = new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName()));
+        return virtualThreadRoutePermits.computeIfAbsent(route, key -> new Semaphore(routeMaxConnections.getOrDefault(key, config.maxPreRoute)));
     }
 
     private static JSONObject handleJsonObject(int statusCode, String httpStr) {
@@ -539,34 +2029,85 @@ public class HttpUtils {
             Object code = jsonObject.get("code");
             jsonObject.put("code", code != null ? code : statusCode);
         } catch (Exception ex) {
+            jsonObject = new JSONObject();
             jsonObject.put("source", httpStr);
         }
         return jsonObject;
     }
 
+    /**
+     * 传输进度回调
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param transferred 已传输字节数
+         * @param total       总字节数，未知时为 -1
+         */
+        void onProgress(long transferred, long total);
+    }
+
+    /**
+     * 响应流处理器
+     */
+    @FunctionalInterface
+    public interface ResponseStreamHandler<T> {
+        T handle(InputStream in) throws IOException;
+    }
+
+    /**
+     * JSONReader 处理器
+     */
+    @FunctionalInterface
+    public interface JSONReaderHandler<T> {
+        T handle(JSONReader reader) throws IOException;
+    }
+
     /**
      * 下载文件
      *
      * @param url url
      */
     public static InputStream download(String url) {
-        InputStream in = null;
-        HttpURLConnection http;
+        HttpUtils httpUtils = getInstance();
+        HttpGet httpGet = new HttpGet(url);
+        httpGet.setConfig(httpUtils.getRequestConfig(httpGet.getURI()));
         try {
-            URL urlGet = new URL(url);
-            http = (HttpURLConnection) urlGet.openConnection();
-            http.setRequestMethod("GET");
-            http.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            http.setDoOutput(true);
-            http.setDoInput(true);
-            System.setProperty("sun.net.client.defaultConnectTimeout", "30000");
-            System.setProperty("sun.net.client.defaultReadTimeout", "30000");
-            http.connect();
-            in = http.getInputStream();
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            CloseableHttpResponse response = httpUtils.execute(httpGet);
+            HttpEntity entity = response.getEntity();
+            if (response.getStatusLine().getStatusCode() < HttpStatus.SC_BAD_REQUEST && entity != null) {
+                // 调用方关闭输入流时连接归还连接池
+                return entity.getContent();
+            }
+            logger.error("Download {} failed: {}", url, response.getStatusLine());
+            response.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
         }
-        return in;
+        return null;
+    }
+
+    /**
+     * 下载文件到指定路径，服务端支持 Range 时分段并行下载，中断后再次调用可断点续传
+     *
+     * @param url    url
+     * @param target 保存路径
+     * @return 文件大小
+     */
+    public long download(String url, Path target) throws IOException {
+        return download(url, target, DownloadOptions.builder().build());
+    }
+
+    /**
+     * 下载文件到指定路径，服务端支持 Range 时分段并行下载，中断后再次调用可断点续传
+     *
+     * @param url     url
+     * @param target  保存路径
+     * @param options 下载选项
+     * @return 文件大小
+     */
+    public long download(String url, Path target, DownloadOptions options) throws IOException {
+        return new Downloader(this).download(url, target, options);
     }
 
     /**
@@ -577,17 +2118,45 @@ public class HttpUtils {
      * @param file     文件
      */
     public JSONObject upload(String url, String filename, File file) {
-        CloseableHttpClient httpClient = getCloseableHttpClient(url);
+        return upload(url, Collections.singletonList(UploadPart.file(filename, file.toPath())));
+    }
+
+    /**
+     * 上传文件
+     *
+     * @param url   上传地址
+     * @param parts 表单项
+     */
+    public JSONObject upload(String url, List<UploadPart> parts) {
+        return upload(url, parts, null, false, null);
+    }
+
+    /**
+     * 上传文件，文件及输入流直接写入连接，不会读入内存
+     *
+     * @param url      上传地址
+     * @param parts    表单项
+     * @param headers  headers
+     * @param chunked  是否强制以 chunked 方式发送，表单项长度未知时总是以 chunked 方式发送
+     * @param listener 进度回调，可为 null
+     */
+    public JSONObject upload(String url, List<UploadPart> parts, Map<String, String> headers, boolean chunked, ProgressListener listener) {
         HttpPost httpPost = new HttpPost(url);
-        httpPost.setConfig(requestConfig);
+        httpPost.setConfig(getRequestConfig(httpPost.getURI()));
         CloseableHttpResponse response = null;
         String httpStr = null;
         int statusCode = 0;
         try {
-            FileBody fileBody = new FileBody(file);
-            HttpEntity reqEntity = MultipartEntityBuilder.create().addPart(filename, fileBody).build();
-            httpPost.setEntity(reqEntity);
-            response = httpClient.execute(httpPost);
+            MultipartEntityBuilder builder = MultipartEntityBuilder.create()
+                    .setMode(HttpMultipartMode.RFC6532).setCharset(StandardCharsets.UTF_8);
+            boolean repeatable = true;
+            for (UploadPart part : parts) {
+                builder.addPart(part.getName(), part.getBody());
+                repeatable &= part.isRepeatable();
+            }
+            httpPost.setEntity(new ProgressHttpEntity(builder.build(), chunked, repeatable, listener));
+            setHeaders(httpPost, headers, true);
+            response = execute(httpPost);
             statusCode = response.getStatusLine().getStatusCode();
             HttpEntity entity = response.getEntity();
             httpStr = EntityUtils.toString(entity, "UTF-8");
@@ -599,7 +2168,6 @@ public class HttpUtils {
                 try {
                     EntityUtils.consume(response.getEntity());
                     response.close();
-                    httpClient.close();
                 } catch (IOException e) {
                     logger.error(e.getMessage(), e);
                 }
@@ -626,6 +2194,9 @@ public class HttpUtils {
      * @return String
      */
     public static String encode(String value, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return QueryStringBuilder.encode(value);
+        }
         String encodeValue = null;
         try {
             encodeValue = URLEncoder.encode(value, charset.toString());
@@ -653,13 +2224,7 @@ public class HttpUtils {
      * @return String
      */
     public static String decode(String value, Charset charset) {
-        String decodeValue = null;
-        try {
-            decodeValue = URLDecoder.decode(value, charset.toString());
-        } catch (UnsupportedEncodingException e) {
-            logger.error(e.getMessage());
-        }
-        return decodeValue;
+        return QueryStringBuilder.decode(value, charset);
     }
 
     /**
@@ -756,37 +2321,21 @@ public class HttpUtils {
     }
 
     /**
-     * 获取主机地址
+     * 获取主机地址，首次调用时解析并缓存
      *
      * @return String
      */
     public static String getHostAddress() {
-        String hostAddress = "";
-        try {
-            InetAddress inetAddress = InetAddress.getLocalHost();
-            hostAddress = inetAddress.getHostAddress();
-        } catch (UnknownHostException e) {
-            e.printStackTrace();
-        }
-
-        return hostAddress;
+        return ServletRequestHelper.getHostAddress();
     }
 
     /**
-     * 获取主机名
+     * 获取主机名，首次调用时解析并缓存
      *
      * @return String
      */
     public static String getHostName() {
-        String hostName = "";
-        try {
-            InetAddress inetAddress = InetAddress.getLocalHost();
-            hostName = inetAddress.getHostName();
-        } catch (UnknownHostException e) {
-            e.printStackTrace();
-        }
-
-        return hostName;
+        return ServletRequestHelper.getHostName();
     }
 
     /**
@@ -796,60 +2345,70 @@ public class HttpUtils {
      * @return ?key1=value1&key2=value2&...
      */
     public static String getRequestParameterStr(HttpServletRequest request) {
-        StringBuilder parameterStr = new StringBuilder();
         Map<String, String[]> parameterMap = request.getParameterMap();
-        for (int i = 0; i < parameterMap.size(); i++) {
-            List<String> list = new ArrayList<>(parameterMap.keySet());
-            String key = list.get(i);
-            String value = request.getParameter(key);
-            if (i == 0) {
-                parameterStr = new StringBuilder("?" + key + "=" + value);
-            } else {
-                parameterStr.append("&").append(key).append("=").append(value);
-            }
+        if (parameterMap.isEmpty()) {
+            return "";
+        }
+        StringBuilder parameterStr = new StringBuilder(parameterMap.size() * 16);
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String[] values = entry.getValue();
+            parameterStr.append(parameterStr.length() == 0 ? '?' : '&').append(entry.getKey()).append('=')
+                    .append(values != null && values.length > 0 ? values[0] : null);
         }
         return parameterStr.toString();
     }
 
     /**
-     * 获取客户端IP
+     * 获取客户端IP，取第一个非空且不为 unknown 的代理请求头，不校验请求是否来自受信任的代理；
+     * 需要防止伪造时使用 ServletRequestHelper.getClientIp
      *
      * @param request 请求
      * @return String
      */
     public static String getIpAddress(HttpServletRequest request) {
-        String ip = request.getHeader("x-forwarded-for");
-        if (ip == null || ip.length() == 0 || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.length() == 0 || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.length() == 0 || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.length() == 0 || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.length() == 0 || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+        for (String name : CLIENT_IP_HEADERS) {
+            String ip = request.getHeader(name);
+            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+                return ip;
+            }
         }
-        return ip;
+        return request.getRemoteAddr();
     }
 
     /**
-     * 创建SSL安全连接
+     * 创建 SSLContext，信任库或密钥库无法加载时抛出异常，不会退化为信任所有证书
      *
-     * @return SSLConnectionSocketFactory
+     * @param tls TLS 配置
+     * @return SSLContext
      */
-    private SSLConnectionSocketFactory createSSLConnSocketFactory() {
-        SSLConnectionSocketFactory sslFactory = null;
+    private static SSLContext createSSLContext(TlsConfig tls) {
         try {
-            SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, (X509Certificate[] chain, String authType) -> true).build();
-            sslFactory = new SSLConnectionSocketFactory(sslContext, (String arg0, SSLSession arg1) -> true);
-        } catch (GeneralSecurityException e) {
-            logger.error(e.getMessage(), e);
+            SSLContextBuilder builder = SSLContexts.custom().setKeyStoreType(tls.storeType);
+            if (tls.trustAll) {
+                builder.loadTrustMaterial(TrustAllStrategy.INSTANCE);
+            } else if (tls.trustStore != null) {
+                builder.loadTrustMaterial(tls.trustStore, toChars(tls.trustStorePassword));
+            }
+            if (tls.keyStore != null) {
+                builder.loadKeyMaterial(tls.keyStore, toChars(tls.keyStorePassword),
+                        toChars(tls.keyPassword != null ? tls.keyPassword : tls.keyStorePassword));
+            }
+            SSLContext sslContext = builder.build();
+            // 客户端会话按 host:port 缓存，新连接优先恢复已有会话
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            if (tls.sessionCacheSize > 0) {
+                sessionContext.setSessionCacheSize(tls.sessionCacheSize);
+            }
+            if (tls.sessionTimeout > 0) {
+                sessionContext.setSessionTimeout(tls.sessionTimeout);
+            }
+            return sslContext;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to initialize SSLContext: " + e.getMessage(), e);
         }
-        return sslFactory;
+    }
+
+    private static char[] toChars(String password) {
+        return password != null ? password.toCharArray() : null;
     }
 }
\ No newline at end of file
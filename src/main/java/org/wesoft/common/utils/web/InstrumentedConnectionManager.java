@@ -0,0 +1,209 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 记录连接获取等待时间的连接池，启用请求计时时同时记录获取连接、域名解析、建立连接及 TLS 握手的耗时
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:37
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Map<HttpRoute, LeaseStats> leaseStats = new ConcurrentHashMap<>();
+    private final LongAdder expiredEvictedCount = new LongAdder();
+    private final LongAdder idleEvictedCount = new LongAdder();
+
+    /**
+     * @param dnsResolver      域名解析器
+     * @param sslContext       HTTPS 连接使用的 SSLContext，TLS 会话缓存随之在所有连接间共享
+     * @param hostnameVerifier 主机名校验
+     * @param connectRaceDelay 多地址竞速连接的间隔，单位：毫秒，0 表示按顺序逐个连接
+     */
+    InstrumentedConnectionManager(DnsResolver dnsResolver, SSLContext sslContext, HostnameVerifier hostnameVerifier, long connectRaceDelay) {
+        super(new RacingConnectionOperator(RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new TimedSSLConnectionSocketFactory(sslContext, hostnameVerifier))
+                        .build(), new TimedDnsResolver(dnsResolver), connectRaceDelay),
+                ManagedHttpClientConnectionFactory.INSTANCE, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context) throws IOException {
+        RequestTimer timer = RequestTimer.current();
+        if (timer == null) {
+            super.connect(managedConn, route, connectTimeout, context);
+            return;
+        }
+        timer.connectStarted();
+        long start = System.nanoTime();
+        super.connect(managedConn, route, connectTimeout, context);
+        timer.connectFinished(System.nanoTime() - start);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        final LeaseStats stats = leaseStats.computeIfAbsent(route, key -> new LeaseStats());
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    HttpClientConnection conn = request.get(timeout, tunit);
+                    long waitNanos = System.nanoTime() - start;
+                    stats.leased(waitNanos);
+                    RequestTimer timer = RequestTimer.current();
+                    if (timer != null) {
+                        timer.record(HttpPhase.POOL_LEASE, waitNanos);
+                    }
+                    return conn;
+                } catch (ConnectionPoolTimeoutException e) {
+                    stats.timeout(System.nanoTime() - start);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    /**
+     * 关闭已过期以及空闲超过 maxIdleTime 的连接
+     *
+     * @param maxIdleTime 最大空闲时间，小于等于 0 时只关闭过期连接
+     * @param unit        时间单位
+     */
+    void evictConnections(long maxIdleTime, TimeUnit unit) {
+        final long now = System.currentTimeMillis();
+        final long deadline = now - unit.toMillis(maxIdleTime);
+        enumAvailable(entry -> {
+            if (entry.isExpired(now)) {
+                entry.close();
+                expiredEvictedCount.increment();
+            } else if (maxIdleTime > 0 && entry.getUpdated() <= deadline) {
+                entry.close();
+                idleEvictedCount.increment();
+            }
+        });
+    }
+
+    /**
+     * 连接池快照
+     *
+     * @return HttpPoolStats
+     */
+    HttpPoolStats snapshot() {
+        Map<String, HttpPoolStats.RouteStats> routes = new LinkedHashMap<>();
+        for (HttpRoute route : getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), routeStats(getStats(route), leaseStats.get(route)));
+        }
+        // 曾经等待过但当前已无连接的路由
+        leaseStats.forEach((route, stats) -> routes.computeIfAbsent(route.getTargetHost().toURI(),
+                key -> routeStats(getStats(route), stats)));
+        return new HttpPoolStats(getTotalStats(), routes, expiredEvictedCount.sum(), idleEvictedCount.sum());
+    }
+
+    private static HttpPoolStats.RouteStats routeStats(PoolStats poolStats, LeaseStats stats) {
+        if (stats == null) {
+            return new HttpPoolStats.RouteStats(poolStats, 0, 0, 0, 0);
+        }
+        return new HttpPoolStats.RouteStats(poolStats, stats.leaseCount.sum(), stats.timeoutCount.sum(),
+                stats.totalWaitNanos.sum(), stats.maxWaitNanos.get());
+    }
+
+    private static class TimedDnsResolver implements DnsResolver {
+
+        private final DnsResolver delegate;
+
+        private TimedDnsResolver(DnsResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            RequestTimer timer = RequestTimer.current();
+            if (timer == null) {
+                return delegate.resolve(host);
+            }
+            long start = System.nanoTime();
+            InetAddress[] addresses = delegate.resolve(host);
+            timer.record(HttpPhase.DNS, System.nanoTime() - start);
+            return addresses;
+        }
+    }
+
+    /**
+     * 记录 TLS 握手耗时的 SSLConnectionSocketFactory
+     */
+    private static class TimedSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
+
+        private TimedSSLConnectionSocketFactory(SSLContext sslContext, HostnameVerifier hostnameVerifier) {
+            super(sslContext, hostnameVerifier);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            RequestTimer timer = RequestTimer.current();
+            if (timer == null) {
+                return super.createLayeredSocket(socket, target, port, context);
+            }
+            long start = System.nanoTime();
+            Socket layered = super.createLayeredSocket(socket, target, port, context);
+            timer.record(HttpPhase.TLS, System.nanoTime() - start);
+            return layered;
+        }
+    }
+
+    private static class LeaseStats {
+        private final LongAdder leaseCount = new LongAdder();
+        private final LongAdder timeoutCount = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void leased(long waitNanos) {
+            leaseCount.increment();
+            waited(waitNanos);
+        }
+
+        private void timeout(long waitNanos) {
+            timeoutCount.increment();
+            waited(waitNanos);
+        }
+
+        private void waited(long waitNanos) {
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.wesoft.common.utils.web;
+
+import com.alibaba.fastjson.JSON;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 线程复用的 JSON 序列化缓冲区，对象直接序列化为 UTF-8 字节，不产生中间的 String 和 byte[]
+ * <p>
+ * 缓冲区在 release 之前由当前线程独占，只能用于在当前线程内发送完毕的同步请求
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:00
+ */
+final class JsonBuffer extends ByteArrayOutputStream {
+
+    /** 超过该容量的缓冲区用完后丢弃，避免个别大请求体长期占用内存 */
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<JsonBuffer> LOCAL = ThreadLocal.withInitial(JsonBuffer::new);
+
+    private boolean inUse;
+
+    private JsonBuffer() {
+        super(4096);
+    }
+
+    /**
+     * 将对象序列化到当前线程的缓冲区，缓冲区已被占用时（如嵌套调用）使用新的缓冲区
+     *
+     * @param value 对象
+     * @return JsonBuffer
+     */
+    static JsonBuffer serialize(Object value) {
+        JsonBuffer buffer = LOCAL.get();
+        if (buffer.inUse) {
+            buffer = new JsonBuffer();
+        }
+        buffer.inUse = true;
+        buffer.reset();
+        try {
+            JSON.writeJSONString(buffer, value);
+        } catch (IOException e) {
+            buffer.release();
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    byte[] array() {
+        return buf;
+    }
+
+    /**
+     * 归还缓冲区，之后不得再访问 array()
+     */
+    void release() {
+        inUse = false;
+        if (buf.length > MAX_RETAINED_SIZE && LOCAL.get() == this) {
+            LOCAL.remove();
+        }
+    }
+}
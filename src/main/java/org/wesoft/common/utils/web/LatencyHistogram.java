@@ -0,0 +1,109 @@
+package org.wesoft.common.utils.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的对数-线性直方图，以微秒为单位记录耗时
+ * <p>
+ * 与 HdrHistogram 相同的分桶方式：小于 128µs 精确记录，之后每个 2 的幂区间再等分为 64 个子桶，相对误差不超过 1/64；
+ * 记录只有一次数组下标计算和一次原子自增，可以在生产环境常开
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    /** 最大可记录 2^38 - 1µs，约 76 小时，超过的按最大值记录 */
+    private static final int MAX_SHIFT = 31;
+    private static final long MAX_VALUE = (2L * SUB_BUCKETS << MAX_SHIFT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long durationNanos) {
+        long micros = Math.min(MAX_VALUE, Math.max(0, durationNanos / 1000));
+        counts.incrementAndGet(index(micros));
+        totalMicros.add(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    static int index(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        // micros >>> shift 落在 [64, 128)
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - 6;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((micros >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * 桶内的最大值
+     *
+     * @param index 桶下标
+     * @return long
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    HttpLatencyStats snapshot() {
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        long max = maxMicros.get();
+        double mean = count > 0 ? totalMicros.sum() / 1000.0 / count : 0;
+        return new HttpLatencyStats(count, mean, percentile(snapshot, count, 0.5, max),
+                percentile(snapshot, count, 0.99, max), percentile(snapshot, count, 0.999, max), max / 1000.0);
+    }
+
+    /**
+     * 指定分位的耗时，单位：微秒
+     *
+     * @param percentile 分位，0 ~ 1
+     * @param minCount   最少样本数
+     * @return 样本数不足 minCount 时返回 -1
+     */
+    long percentileMicros(double percentile, long minCount) {
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0 || count < minCount) {
+            return -1;
+        }
+        return Math.round(percentile(snapshot, count, percentile, maxMicros.get()) * 1000);
+    }
+
+    private static double percentile(long[] snapshot, long count, double percentile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), max) / 1000.0;
+            }
+        }
+        return max / 1000.0;
+    }
+}
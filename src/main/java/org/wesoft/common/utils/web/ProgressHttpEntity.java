@@ -0,0 +1,75 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 发送请求体时回调进度，可强制以 chunked 方式发送
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:50
+ */
+class ProgressHttpEntity extends HttpEntityWrapper {
+
+    private final boolean chunked;
+    private final boolean repeatable;
+    private final HttpUtils.ProgressListener listener;
+
+    /**
+     * @param wrappedEntity 请求体
+     * @param chunked       是否强制以 chunked 方式发送
+     * @param repeatable    请求体是否可重复发送，MultipartFormEntity 在长度已知时总是声明可重复，需由调用方指定
+     * @param listener      进度回调，可为 null
+     */
+    ProgressHttpEntity(HttpEntity wrappedEntity, boolean chunked, boolean repeatable, HttpUtils.ProgressListener listener) {
+        super(wrappedEntity);
+        this.chunked = chunked;
+        this.repeatable = repeatable;
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return repeatable && super.isRepeatable();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return chunked || super.isChunked();
+    }
+
+    @Override
+    public long getContentLength() {
+        return chunked ? -1 : super.getContentLength();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (listener == null) {
+            super.writeTo(out);
+            return;
+        }
+        final long total = wrappedEntity.getContentLength();
+        super.writeTo(new FilterOutputStream(out) {
+            private long written;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                listener.onProgress(++written, total);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                written += len;
+                listener.onProgress(written, total);
+            }
+        });
+    }
+}
@@ -0,0 +1,291 @@
+package org.wesoft.common.utils.web;
+
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * 查询字符串构建及 URL 编解码
+ * <p>
+ * 按 application/x-www-form-urlencoded 规则以 UTF-8 编码，结果与 URLEncoder.encode(value, "UTF-8") 一致：
+ * 字母、数字及 . - * _ 原样保留，空格编码为 +，其余字符按 UTF-8 字节编码为 %XX。
+ * 编码直接写入目标 StringBuilder，不产生中间的 byte[] 和 String；不需要编码的值原样返回
+ *
+ * <pre>
+ * String url = new QueryStringBuilder("https://api.example.com/search")
+ *         .add("q", "北京 天气")
+ *         .add("tag", Arrays.asList("a", "b"))
+ *         .toString();
+ * // https://api.example.com/search?q=%E5%8C%97%E4%BA%AC+%E5%A4%A9%E6%B0%94&amp;tag=a&amp;tag=b
+ * </pre>
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:20
+ */
+public final class QueryStringBuilder {
+
+    /** 超过该容量的线程缓冲区用完后丢弃 */
+    private static final int MAX_RETAINED_SIZE = 16 * 1024;
+
+    private static final ThreadLocal<QueryStringBuilder> LOCAL = ThreadLocal.withInitial(() -> new QueryStringBuilder(new StringBuilder(256)));
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /** 不需要编码的 ASCII 字符 */
+    private static final boolean[] SAFE = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            SAFE[c] = true;
+        }
+        SAFE['.'] = true;
+        SAFE['-'] = true;
+        SAFE['*'] = true;
+        SAFE['_'] = true;
+    }
+
+    private final StringBuilder target;
+    /** 下一个参数前的分隔符，'?' 或 '&' */
+    private char separator;
+    private boolean inUse;
+
+    public QueryStringBuilder() {
+        this(new StringBuilder(64));
+    }
+
+    /**
+     * @param url 基础 URL，已包含查询字符串时以 &amp; 继续追加
+     */
+    public QueryStringBuilder(String url) {
+        this(new StringBuilder(url.length() + 64).append(url));
+    }
+
+    /**
+     * 追加到已有的 StringBuilder，便于重复使用同一个缓冲区；target 为空时只生成 name=value&amp;...
+     *
+     * @param target 目标，可以已包含 URL
+     */
+    public QueryStringBuilder(StringBuilder target) {
+        this.target = target;
+        resetSeparator();
+    }
+
+    private void resetSeparator() {
+        int length = target.length();
+        if (length == 0) {
+            separator = 0;
+        } else if (target.indexOf("?") < 0) {
+            separator = '?';
+        } else {
+            char last = target.charAt(length - 1);
+            separator = last == '?' || last == '&' ? 0 : '&';
+        }
+    }
+
+    /**
+     * 添加参数，value 为集合或数组时按多值参数展开为 name=v1&amp;name=v2，为 null 时写入 name=
+     *
+     * @param name  名称
+     * @param value 值
+     * @return QueryStringBuilder
+     */
+    public QueryStringBuilder add(String name, Object value) {
+        if (value instanceof Iterable) {
+            for (Object item : (Iterable<?>) value) {
+                append(name, item);
+            }
+        } else if (value != null && value.getClass().isArray()) {
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                append(name, Array.get(value, i));
+            }
+        } else {
+            append(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * 按 Map 的迭代顺序添加参数
+     *
+     * @param params 参数
+     * @return QueryStringBuilder
+     */
+    public QueryStringBuilder addAll(Map<String, ?> params) {
+        if (params != null) {
+            params.forEach(this::add);
+        }
+        return this;
+    }
+
+    private void append(String name, Object value) {
+        if (separator != 0) {
+            target.append(separator);
+        }
+        separator = '&';
+        encode(name, target);
+        target.append('=');
+        if (value != null) {
+            encode(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value), target);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+
+    /**
+     * 拼接 URL 及参数，使用当前线程复用的缓冲区
+     *
+     * @param url    url
+     * @param params 参数，为空时原样返回 url
+     * @return String
+     */
+    public static String build(String url, Map<String, ?> params) {
+        if (params == null || params.isEmpty()) {
+            return url;
+        }
+        QueryStringBuilder builder = LOCAL.get();
+        // 参数的 toString 中再次调用 build 时使用新的缓冲区
+        if (builder.inUse) {
+            return new QueryStringBuilder(url).addAll(params).toString();
+        }
+        builder.inUse = true;
+        try {
+            builder.target.setLength(0);
+            builder.target.append(url);
+            builder.resetSeparator();
+            return builder.addAll(params).toString();
+        } finally {
+            builder.inUse = false;
+            if (builder.target.capacity() > MAX_RETAINED_SIZE) {
+                LOCAL.remove();
+            }
+        }
+    }
+
+    /**
+     * 编码并追加到 target
+     *
+     * @param value  需要编码的值
+     * @param target 目标
+     */
+    public static void encode(CharSequence value, StringBuilder target) {
+        encode(value, 0, target);
+    }
+
+    private static void encode(CharSequence value, int from, StringBuilder target) {
+        int length = value.length();
+        for (int i = from; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (SAFE[c]) {
+                    target.append(c);
+                } else if (c == ' ') {
+                    target.append('+');
+                } else {
+                    appendByte(target, c);
+                }
+            } else if (c < 0x800) {
+                appendByte(target, 0xc0 | c >> 6);
+                appendByte(target, 0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(target, 0xf0 | codePoint >> 18);
+                appendByte(target, 0x80 | codePoint >> 12 & 0x3f);
+                appendByte(target, 0x80 | codePoint >> 6 & 0x3f);
+                appendByte(target, 0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // 与 URLEncoder 相同，不成对的代理字符按 ? 编码
+                appendByte(target, '?');
+            } else {
+                appendByte(target, 0xe0 | c >> 12);
+                appendByte(target, 0x80 | c >> 6 & 0x3f);
+                appendByte(target, 0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    /**
+     * 编码，不需要编码时返回原字符串
+     *
+     * @param value 需要编码的值
+     * @return String
+     */
+    public static String encode(String value) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && value.charAt(i) < 0x80 && SAFE[value.charAt(i)]) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+        StringBuilder target = new StringBuilder(length + 16);
+        target.append(value, 0, i);
+        encode(value, i, target);
+        return target.toString();
+    }
+
+    /**
+     * 解码，与 URLDecoder.decode 的规则相同：+ 解码为空格，连续的 %XX 按 charset 解码；不需要解码时返回原字符串
+     *
+     * @param value   需要解码的值
+     * @param charset 解码方式
+     * @return String
+     * @throws IllegalArgumentException %XX 不完整或不是十六进制
+     */
+    public static String decode(String value, Charset charset) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && value.charAt(i) != '%' && value.charAt(i) != '+') {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+        StringBuilder target = new StringBuilder(length);
+        target.append(value, 0, i);
+        byte[] bytes = null;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c == '+') {
+                target.append(' ');
+                i++;
+            } else if (c == '%') {
+                if (bytes == null) {
+                    bytes = new byte[(length - i) / 3];
+                }
+                int count = 0;
+                while (i < length && value.charAt(i) == '%') {
+                    if (i + 2 >= length) {
+                        throw new IllegalArgumentException("Incomplete trailing escape (%) pattern");
+                    }
+                    int high = Character.digit(value.charAt(i + 1), 16);
+                    int low = Character.digit(value.charAt(i + 2), 16);
+                    if (high < 0 || low < 0) {
+                        throw new IllegalArgumentException("Illegal hex characters in escape (%) pattern");
+                    }
+                    bytes[count++] = (byte) (high << 4 | low);
+                    i += 3;
+                }
+                target.append(new String(bytes, 0, count, charset));
+            } else {
+                target.append(c);
+                i++;
+            }
+        }
+        return target.toString();
+    }
+
+    private static void appendByte(StringBuilder target, int b) {
+        target.append('%').append(HEX[b >> 4 & 0xf]).append(HEX[b & 0xf]);
+    }
+}
@@ -0,0 +1,333 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.HttpHost;
+import org.apache.http.config.Lookup;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpHostConnectException;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultHttpClientConnectionOperator;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 多地址竞速建立连接（Happy Eyeballs，RFC 8305）
+ * <p>
+ * 域名解析出多个地址时，IPv6 与 IPv4 交替排列，先连接第一个地址，raceDelay 毫秒内未连上或连接失败即开始连接下一个，
+ * 最先建立 TCP 连接的地址胜出，其余连接关闭，胜出的连接再在调用线程中完成 TLS 握手；某个地址缓慢或不可达时不再阻塞整个连接超时时间，
+ * 整个竞速共用一个 connectTimeout。只有一个地址或 raceDelay 为 0 时与 DefaultHttpClientConnectionOperator 相同
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:10
+ */
+class RacingConnectionOperator extends DefaultHttpClientConnectionOperator {
+
+    private static final AtomicInteger CONNECTOR_SEQUENCE = new AtomicInteger();
+
+    private static final ExecutorService CONNECTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "http-utils-connector-" + CONNECTOR_SEQUENCE.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 竞速结束后占据未胜出的位置，迟到的连接看到它即自行关闭 */
+    private static final Socket CANCELLED = new Socket();
+
+    /** 与 DefaultHttpClientConnectionOperator 相同，HttpContext 中的 socketFactoryRegistry 优先 */
+    private static final String SOCKET_FACTORY_REGISTRY = "http.socket-factory-registry";
+
+    private final Lookup<ConnectionSocketFactory> socketFactoryRegistry;
+    private final DnsResolver dnsResolver;
+    private final long raceDelay;
+
+    /**
+     * @param socketFactoryRegistry socketFactoryRegistry
+     * @param dnsResolver           域名解析器
+     * @param raceDelay             开始连接下一个地址前的等待时间，单位：毫秒，0 表示按顺序逐个连接
+     */
+    RacingConnectionOperator(Lookup<ConnectionSocketFactory> socketFactoryRegistry, DnsResolver dnsResolver, long raceDelay) {
+        super(socketFactoryRegistry, DefaultSchemePortResolver.INSTANCE, dnsResolver);
+        this.socketFactoryRegistry = socketFactoryRegistry;
+        this.dnsResolver = dnsResolver;
+        this.raceDelay = raceDelay;
+    }
+
+    @Override
+    public void connect(ManagedHttpClientConnection conn, HttpHost host, InetSocketAddress localAddress, int connectTimeout,
+                        SocketConfig socketConfig, HttpContext context) throws IOException {
+        if (raceDelay <= 0 || host.getAddress() != null) {
+            super.connect(conn, host, localAddress, connectTimeout, socketConfig, context);
+            return;
+        }
+        InetAddress[] addresses = dnsResolver.resolve(host.getHostName());
+        int port = DefaultSchemePortResolver.INSTANCE.resolve(host);
+        if (addresses.length == 1) {
+            // 已解析过，带上地址避免再次解析
+            super.connect(conn, new HttpHost(addresses[0], host.getHostName(), port, host.getSchemeName()),
+                    localAddress, connectTimeout, socketConfig, context);
+            return;
+        }
+        ConnectionSocketFactory socketFactory = getSocketFactoryRegistry(context).lookup(host.getSchemeName());
+        if (socketFactory == null) {
+            throw new UnsupportedSchemeException(host.getSchemeName() + " protocol is not supported");
+        }
+        List<InetAddress> ordered = interleave(addresses);
+        Race race = new Race(ordered.size());
+        // 与 DefaultHttpClientConnectionOperator 一样在连接前绑定，请求被中止时关闭该套接字即取消竞速
+        conn.bind(new RaceGuard(race));
+        List<Future<Socket>> attempts = new ArrayList<>(ordered.size());
+        CompletionService<Socket> completion = new ExecutorCompletionService<>(CONNECTOR);
+        long deadline = connectTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectTimeout) : 0;
+        long raceDelayNanos = TimeUnit.MILLISECONDS.toNanos(raceDelay);
+        Socket winner = null;
+        IOException lastError = null;
+        int finished = 0;
+        try {
+            while (winner == null && finished < ordered.size() && !race.isCancelled()) {
+                long remaining = deadline != 0 ? deadline - System.nanoTime() : Long.MAX_VALUE;
+                if (remaining <= 0) {
+                    lastError = new SocketTimeoutException("connect timed out");
+                    break;
+                }
+                if (attempts.size() == finished) {
+                    attempts.add(startAttempt(completion, socketFactory, race, attempts.size(), ordered.get(attempts.size()),
+                            port, host, localAddress, deadline, socketConfig, context));
+                }
+                boolean pending = attempts.size() < ordered.size();
+                long wait = pending ? Math.min(raceDelayNanos, remaining) : remaining;
+                Future<Socket> done = wait == Long.MAX_VALUE ? completion.take() : completion.poll(wait, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    // 当前连接迟迟未连上，开始连接下一个地址
+                    if (pending && (deadline == 0 || deadline - System.nanoTime() > 0)) {
+                        attempts.add(startAttempt(completion, socketFactory, race, attempts.size(), ordered.get(attempts.size()),
+                                port, host, localAddress, deadline, socketConfig, context));
+                    }
+                    continue;
+                }
+                finished++;
+                try {
+                    winner = done.get();
+                } catch (ExecutionException e) {
+                    lastError = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            // 关闭仍在连接中或已连上但未胜出的连接，关闭连接中的套接字会使其 connect 立即失败
+            race.cancel(winner);
+        }
+        if (race.isAborted()) {
+            if (winner != null) {
+                closeQuietly(winner);
+            }
+            throw new InterruptedIOException("Connection to " + host + " aborted");
+        }
+        if (winner == null) {
+            throw translate(lastError, host, addresses);
+        }
+        conn.bind(winner);
+        // TLS 握手在调用线程中进行，不计入竞速的超时，请求计时中单独记为 TLS 阶段
+        if (socketFactory instanceof LayeredConnectionSocketFactory) {
+            if (connectTimeout > 0 && winner.getSoTimeout() == 0) {
+                winner.setSoTimeout(connectTimeout);
+            }
+            Socket layered;
+            try {
+                layered = ((LayeredConnectionSocketFactory) socketFactory).createLayeredSocket(winner, host.getHostName(), port, context);
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(winner);
+                throw e;
+            }
+            conn.bind(layered);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Lookup<ConnectionSocketFactory> getSocketFactoryRegistry(HttpContext context) {
+        Lookup<ConnectionSocketFactory> registry = (Lookup<ConnectionSocketFactory>) context.getAttribute(SOCKET_FACTORY_REGISTRY);
+        return registry != null ? registry : socketFactoryRegistry;
+    }
+
+    /**
+     * 连接一个地址，支持分层的协议（HTTPS）只建立 TCP 连接，由胜出的连接在调用线程中完成分层
+     */
+    private Future<Socket> startAttempt(CompletionService<Socket> completion, ConnectionSocketFactory socketFactory, Race race,
+                                        int index, InetAddress address, int port, HttpHost host, InetSocketAddress localAddress,
+                                        long deadline, SocketConfig socketConfig, HttpContext context) {
+        int timeout = deadline != 0 ? (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) : 0;
+        ConnectionSocketFactory connector = socketFactory instanceof LayeredConnectionSocketFactory
+                ? PlainConnectionSocketFactory.getSocketFactory() : socketFactory;
+        return completion.submit(() -> {
+            Socket socket = socketFactory.createSocket(context);
+            configure(socket, socketConfig);
+            if (!race.register(index, null, socket)) {
+                closeQuietly(socket);
+                throw new InterruptedIOException("Connection attempt to " + address + " cancelled");
+            }
+            Socket connected = connector.connectSocket(timeout, socket, host, new InetSocketAddress(address, port), localAddress, context);
+            // 竞速已结束，关闭迟到的连接
+            if (!race.register(index, socket, connected)) {
+                closeQuietly(connected);
+                throw new InterruptedIOException("Connection attempt to " + address + " cancelled");
+            }
+            return connected;
+        });
+    }
+
+    /**
+     * 与 DefaultHttpClientConnectionOperator 相同的套接字配置
+     */
+    private static void configure(Socket socket, SocketConfig socketConfig) throws IOException {
+        socket.setSoTimeout(socketConfig.getSoTimeout());
+        socket.setReuseAddress(socketConfig.isSoReuseAddress());
+        socket.setTcpNoDelay(socketConfig.isTcpNoDelay());
+        socket.setKeepAlive(socketConfig.isSoKeepAlive());
+        if (socketConfig.getRcvBufSize() > 0) {
+            socket.setReceiveBufferSize(socketConfig.getRcvBufSize());
+        }
+        if (socketConfig.getSndBufSize() > 0) {
+            socket.setSendBufferSize(socketConfig.getSndBufSize());
+        }
+        if (socketConfig.getSoLinger() >= 0) {
+            socket.setSoLinger(true, socketConfig.getSoLinger());
+        }
+    }
+
+    /**
+     * IPv6 与 IPv4 交替排列，从第一个地址的协议族开始
+     *
+     * @param addresses addresses
+     * @return List
+     */
+    static List<InetAddress> interleave(InetAddress[] addresses) {
+        List<InetAddress> primary = new ArrayList<>();
+        List<InetAddress> secondary = new ArrayList<>();
+        boolean firstIsV6 = addresses[0] instanceof Inet6Address;
+        for (InetAddress address : addresses) {
+            ((address instanceof Inet6Address) == firstIsV6 ? primary : secondary).add(address);
+        }
+        List<InetAddress> ordered = new ArrayList<>(addresses.length);
+        for (int i = 0; i < Math.max(primary.size(), secondary.size()); i++) {
+            if (i < primary.size()) {
+                ordered.add(primary.get(i));
+            }
+            if (i < secondary.size()) {
+                ordered.add(secondary.get(i));
+            }
+        }
+        return ordered;
+    }
+
+    private static IOException translate(IOException error, HttpHost host, InetAddress[] addresses) {
+        if (error instanceof SocketTimeoutException) {
+            return new ConnectTimeoutException((SocketTimeoutException) error, host, addresses);
+        }
+        if (error instanceof ConnectException) {
+            return "Connection timed out".equals(error.getMessage())
+                    ? new ConnectTimeoutException(error, host, addresses)
+                    : new HttpHostConnectException(error, host, addresses);
+        }
+        return error;
+    }
+
+    /**
+     * 一次竞速中各地址的套接字
+     */
+    private static class Race {
+
+        private final AtomicReferenceArray<Socket> sockets;
+        private volatile boolean cancelled;
+        private volatile boolean aborted;
+
+        private Race(int size) {
+            this.sockets = new AtomicReferenceArray<>(size);
+        }
+
+        private boolean register(int index, Socket expected, Socket socket) {
+            return sockets.compareAndSet(index, expected, socket);
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isAborted() {
+            return aborted;
+        }
+
+        /**
+         * 请求被中止，关闭所有连接
+         */
+        void abort() {
+            aborted = true;
+            cancel(null);
+        }
+
+        /**
+         * 结束竞速，关闭 winner 之外的连接，之后连上的连接自行关闭
+         */
+        void cancel(Socket winner) {
+            cancelled = true;
+            for (int i = 0; i < sockets.length(); i++) {
+                Socket socket = sockets.getAndSet(i, CANCELLED);
+                if (socket != null && socket != CANCELLED && socket != winner) {
+                    closeQuietly(socket);
+                }
+            }
+        }
+    }
+
+    /**
+     * 竞速期间绑定在连接上的占位套接字，连接被关闭（请求中止、连接池关闭）时中止竞速
+     */
+    private static class RaceGuard extends Socket {
+
+        private final Race race;
+
+        private RaceGuard(Race race) {
+            this.race = race;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            race.abort();
+            super.close();
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // 关闭竞速失败的连接，忽略异常
+        }
+    }
+}
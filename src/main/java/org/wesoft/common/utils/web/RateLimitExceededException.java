@@ -0,0 +1,19 @@
+package org.wesoft.common.utils.web;
+
+import java.io.IOException;
+
+/**
+ * 限流等待时间超过 rateLimitTimeout 时请求直接失败抛出的异常
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:03
+ */
+public class RateLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RateLimitExceededException(String route) {
+        super("Rate limit exceeded for " + route);
+    }
+}
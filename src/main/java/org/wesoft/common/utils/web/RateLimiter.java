@@ -0,0 +1,79 @@
+package org.wesoft.common.utils.web;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个路由的令牌桶限流器
+ * <p>
+ * 令牌按 permitsPerSecond 匀速生成，最多积攒 burst 个；令牌不足时预约下一个令牌的生成时间，
+ * 调用方按返回的等待时间自行阻塞或延迟执行，因此同一个限流器同时适用于同步和异步请求
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:03
+ */
+class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long timeoutNanos;
+
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    private long acquiredCount;
+    private long throttledCount;
+    private long rejectedCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    /**
+     * @param permitsPerSecond 每秒生成的令牌数
+     * @param burst            最多积攒的令牌数
+     * @param timeoutMillis    最长等待时间，单位：毫秒，0 表示没有令牌时立即失败，小于 0 表示一直等待
+     */
+    RateLimiter(double permitsPerSecond, int burst, long timeoutMillis) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.timeoutNanos = timeoutMillis >= 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : -1;
+        this.storedPermits = this.burst;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @return 需要等待的纳秒数，等待时间超过最长等待时间时返回 -1 且不占用令牌
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(burst, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+        // 积攒的令牌不足一个时，等到补足一个令牌为止
+        double fromStored = Math.min(1, storedPermits);
+        long freshNanos = (long) ((1 - fromStored) * intervalNanos);
+        long waitNanos = nextFreeNanos - now + freshNanos;
+        if (timeoutNanos >= 0 && waitNanos > timeoutNanos) {
+            rejectedCount++;
+            return -1;
+        }
+        storedPermits -= fromStored;
+        nextFreeNanos += freshNanos;
+        acquiredCount++;
+        if (waitNanos > 0) {
+            throttledCount++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+        return waitNanos;
+    }
+
+    synchronized HttpRateLimitStats snapshot(String route) {
+        return new HttpRateLimitStats(route, permitsPerSecond, burst, acquiredCount, throttledCount, rejectedCount,
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+}
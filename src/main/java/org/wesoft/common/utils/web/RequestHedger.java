@@ -0,0 +1,316 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对冲请求：首次请求超过该路由耗时的指定分位仍未响应时，再发出一个相同的请求，先响应的胜出，另一个中止
+ * <p>
+ * 首次请求在调用线程上执行，对冲请求在后台线程上执行；对冲请求数受预算限制，防止下游整体变慢时流量翻倍
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:16
+ */
+class RequestHedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+
+    /** 每个统计窗口的样本数，窗口写满后替换上一个窗口，使延迟跟随最近的耗时变化 */
+    private static final int WINDOW_SAMPLES = 1000;
+    /** 每记录多少个样本重新计算一次延迟 */
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private static final AtomicInteger HEDGER_SEQUENCE = new AtomicInteger();
+
+    private final double percentile;
+    private final long delayNanos;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final RetryBudget budget;
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    /**
+     * @param percentile  触发对冲的耗时分位，如 0.95
+     * @param delay       样本不足时使用的固定延迟，单位：毫秒
+     * @param minDelay    延迟的下限，单位：毫秒
+     * @param minSamples  按分位计算延迟所需的最少样本数
+     * @param budgetRatio 每个请求存入的对冲额度，即对冲请求占比的上限
+     * @param capacity    对冲额度上限
+     */
+    RequestHedger(double percentile, long delay, long minDelay, int minSamples, double budgetRatio, int capacity) {
+        this.percentile = percentile;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelay);
+        this.minSamples = minSamples;
+        this.budget = new RetryBudget(budgetRatio, capacity);
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "http-utils-hedge-timer-" + HEDGER_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 绝大多数请求在延迟到达前完成，取消的定时任务立即移出队列
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler = scheduler;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "http-utils-hedge-" + HEDGER_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 执行 GET 请求，必要时发出对冲请求，返回先收到的响应
+     *
+     * @param route   路由，用于统计耗时
+     * @param request 首次请求
+     * @param attempt 实际执行单次请求（包括重试）的方法
+     * @return CloseableHttpResponse
+     */
+    CloseableHttpResponse execute(String route, HttpGet request, Attempt attempt) throws IOException {
+        Tracker tracker = trackers.computeIfAbsent(route, key -> new Tracker());
+        tracker.requestCount.increment();
+        budget.deposit();
+        Call call = new Call(tracker, request, attempt);
+        ScheduledFuture<?> trigger;
+        try {
+            trigger = scheduler.schedule(call::fireHedge, tracker.delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return attempt.execute(request);
+        }
+        long start = System.nanoTime();
+        CloseableHttpResponse response;
+        try {
+            response = attempt.execute(request);
+        } catch (IOException e) {
+            trigger.cancel(false);
+            return call.awaitHedge(e);
+        }
+        trigger.cancel(false);
+        tracker.record(System.nanoTime() - start);
+        if (call.primaryCompleted()) {
+            return response;
+        }
+        // 对冲请求已先一步胜出
+        response.close();
+        return call.awaitHedge(null);
+    }
+
+    /**
+     * 各路由的对冲统计
+     *
+     * @return key 为路由
+     */
+    Map<String, HttpHedgeStats> snapshot() {
+        Map<String, HttpHedgeStats> stats = new LinkedHashMap<>();
+        trackers.forEach((route, tracker) -> stats.put(route, new HttpHedgeStats(route, tracker.requestCount.sum(),
+                tracker.hedgedCount.sum(), tracker.winCount.sum(), tracker.budgetExhaustedCount.sum(), tracker.delayNanos / 1e6)));
+        return stats;
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    interface Attempt {
+        CloseableHttpResponse execute(HttpRequestBase request) throws IOException;
+    }
+
+    /**
+     * 单个路由的耗时统计，延迟取当前或上一个窗口的分位值
+     */
+    private class Tracker {
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder hedgedCount = new LongAdder();
+        private final LongAdder winCount = new LongAdder();
+        private final LongAdder budgetExhaustedCount = new LongAdder();
+        private final AtomicLong samples = new AtomicLong();
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram previous;
+        private volatile long delayNanos = RequestHedger.this.delayNanos;
+
+        private void record(long nanos) {
+            current.record(nanos);
+            long count = samples.incrementAndGet();
+            if (count % WINDOW_SAMPLES == 0) {
+                previous = current;
+                current = new LatencyHistogram();
+            }
+            if (count % RECOMPUTE_INTERVAL == 0) {
+                LatencyHistogram histogram = previous != null ? previous : current;
+                long micros = histogram.percentileMicros(percentile, minSamples);
+                if (micros >= 0) {
+                    delayNanos = Math.max(minDelayNanos, TimeUnit.MICROSECONDS.toNanos(micros));
+                }
+            }
+        }
+    }
+
+    /**
+     * 一次对冲调用，首次请求与对冲请求之间的协调
+     */
+    private class Call {
+        private final Tracker tracker;
+        private final HttpGet primary;
+        private final Attempt attempt;
+        private HttpGet hedge;
+        /** 首次请求已结束（成功或失败），此后不再发出对冲请求 */
+        private boolean primaryDone;
+        /** 调用方已不再接收对冲请求的响应：首次请求已胜出或等待被中断 */
+        private boolean settled;
+        private boolean hedgeDone;
+        private boolean hedgeWon;
+        private CloseableHttpResponse hedgeResponse;
+
+        private Call(Tracker tracker, HttpGet primary, Attempt attempt) {
+            this.tracker = tracker;
+            this.primary = primary;
+            this.attempt = attempt;
+        }
+
+        private void fireHedge() {
+            synchronized (this) {
+                if (primaryDone) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    tracker.budgetExhaustedCount.increment();
+                    return;
+                }
+                hedge = copy(primary);
+            }
+            tracker.hedgedCount.increment();
+            try {
+                executor.execute(this::runHedge);
+            } catch (RejectedExecutionException e) {
+                hedgeFinished(null);
+            }
+        }
+
+        private void runHedge() {
+            long start = System.nanoTime();
+            CloseableHttpResponse response;
+            try {
+                response = attempt.execute(hedge);
+            } catch (IOException e) {
+                if (!hedge.isAborted()) {
+                    logger.debug("Hedged request to {} failed: {}", hedge.getURI(), e.toString());
+                }
+                hedgeFinished(null);
+                return;
+            }
+            tracker.record(System.nanoTime() - start);
+            if (!hedgeFinished(response)) {
+                closeQuietly(response);
+            }
+        }
+
+        /**
+         * 对冲请求结束，调用方仍在等待结果时对冲请求胜出并中止首次请求
+         *
+         * @param response 对冲请求的响应，失败时为 null
+         * @return 是否胜出，未胜出时由调用者关闭响应
+         */
+        private boolean hedgeFinished(CloseableHttpResponse response) {
+            synchronized (this) {
+                hedgeDone = true;
+                notifyAll();
+                if (response == null || settled) {
+                    return false;
+                }
+                hedgeWon = true;
+                hedgeResponse = response;
+            }
+            tracker.winCount.increment();
+            primary.abort();
+            return true;
+        }
+
+        /**
+         * 首次请求成功返回，中止进行中的对冲请求
+         *
+         * @return 首次请求胜出时返回 true，对冲请求已先胜出时返回 false
+         */
+        private boolean primaryCompleted() {
+            HttpGet running;
+            synchronized (this) {
+                primaryDone = true;
+                if (hedgeWon) {
+                    return false;
+                }
+                settled = true;
+                running = hedgeDone ? null : hedge;
+            }
+            if (running != null) {
+                running.abort();
+            }
+            return true;
+        }
+
+        /**
+         * 首次请求失败或被中止，等待进行中的对冲请求
+         *
+         * @param failure 首次请求的异常，对冲请求已胜出时为 null
+         * @return 对冲请求的响应
+         */
+        private CloseableHttpResponse awaitHedge(IOException failure) throws IOException {
+            synchronized (this) {
+                primaryDone = true;
+                if (hedge == null) {
+                    throw failure;
+                }
+                try {
+                    while (!hedgeDone) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    settled = true;
+                    Thread.currentThread().interrupt();
+                    hedge.abort();
+                    throw new InterruptedIOException(e.getMessage());
+                }
+                if (hedgeWon) {
+                    return hedgeResponse;
+                }
+            }
+            throw failure;
+        }
+    }
+
+    private static HttpGet copy(HttpGet request) {
+        HttpGet copy = new HttpGet(request.getURI());
+        copy.setHeaders(request.getAllHeaders());
+        copy.setConfig(request.getConfig());
+        return copy;
+    }
+
+    private static void closeQuietly(CloseableHttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.debug(e.getMessage(), e);
+        }
+    }
+}
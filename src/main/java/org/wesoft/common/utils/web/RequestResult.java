@@ -0,0 +1,29 @@
+package org.wesoft.common.utils.web;
+
+import com.alibaba.fastjson.JSONObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 批量请求中单个请求的结果
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:41
+ */
+@Getter
+@AllArgsConstructor
+public class RequestResult {
+
+    /** 请求在批量列表中的下标 */
+    private final int index;
+    private final RequestSpec spec;
+    /** 响应，请求失败时为 null */
+    private final JSONObject response;
+    /** 请求失败的原因，成功时为 null */
+    private final Throwable error;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
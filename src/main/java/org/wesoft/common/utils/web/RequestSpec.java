@@ -0,0 +1,39 @@
+package org.wesoft.common.utils.web;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 批量请求中的单个请求描述
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:41
+ */
+@Getter
+@Builder
+public class RequestSpec {
+
+    public enum Method {
+        GET, POST
+    }
+
+    @Builder.Default
+    private final Method method = Method.GET;
+    private final String url;
+    /** GET 时拼接到 url 上，POST 且 body 为空时作为表单参数 */
+    private final Map<String, Object> params;
+    private final Map<String, String> headers;
+    /** POST 的 JSON 请求体，String 原样发送，其他对象序列化为 JSON */
+    private final Object body;
+
+    public static RequestSpec get(String url, Map<String, Object> params) {
+        return RequestSpec.builder().url(url).params(params).build();
+    }
+
+    public static RequestSpec post(String url, Object body) {
+        return RequestSpec.builder().method(Method.POST).url(url).body(body).build();
+    }
+}
@@ -0,0 +1,201 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 单次请求尝试的计时器，将各阶段耗时分发给 HttpEventListener
+ * <p>
+ * 同步客户端的所有阶段都在调用线程中执行，计时器通过 ThreadLocal 传递给连接池、域名解析及 TLS 握手
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+class RequestTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimer.class);
+
+    private static final ThreadLocal<RequestTimer> CURRENT = new ThreadLocal<>();
+
+    private final List<HttpEventListener> listeners;
+    private final String route;
+    private final long startNanos;
+    /** 建立连接过程中 DNS 及 TLS 的耗时，计算 CONNECT 时扣除 */
+    private long nestedNanos;
+    private long sentNanos;
+    private boolean responded;
+    private boolean finished;
+
+    RequestTimer(List<HttpEventListener> listeners, String route) {
+        this.listeners = listeners;
+        this.route = route;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 创建计时器并绑定到当前线程
+     *
+     * @param listeners listeners
+     * @param route     route
+     * @return RequestTimer
+     */
+    static RequestTimer attach(List<HttpEventListener> listeners, String route) {
+        RequestTimer timer = new RequestTimer(listeners, route);
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    /**
+     * 当前线程正在执行的请求的计时器，未启用计时时返回 null
+     *
+     * @return RequestTimer
+     */
+    static RequestTimer current() {
+        return CURRENT.get();
+    }
+
+    void detach() {
+        CURRENT.remove();
+    }
+
+    void record(HttpPhase phase, long durationNanos) {
+        if (phase == HttpPhase.DNS || phase == HttpPhase.TLS) {
+            nestedNanos += durationNanos;
+        }
+        for (HttpEventListener listener : listeners) {
+            try {
+                listener.onPhase(route, phase, durationNanos);
+            } catch (RuntimeException e) {
+                logger.warn("Event listener {} failed: {}", listener, e.toString());
+            }
+        }
+    }
+
+    void connectStarted() {
+        nestedNanos = 0;
+    }
+
+    void connectFinished(long durationNanos) {
+        record(HttpPhase.CONNECT, Math.max(0, durationNanos - nestedNanos));
+    }
+
+    void requestSent(long durationNanos) {
+        sentNanos = System.nanoTime();
+        record(HttpPhase.REQUEST_WRITE, durationNanos);
+    }
+
+    boolean isResponded() {
+        return responded;
+    }
+
+    /**
+     * 收到响应头，记录 TIME_TO_FIRST_BYTE，响应体读取完毕或关闭时记录 BODY_READ 及 TOTAL
+     *
+     * @param response response
+     */
+    void responseReceived(HttpResponse response) {
+        long now = System.nanoTime();
+        responded = true;
+        record(HttpPhase.TIME_TO_FIRST_BYTE, now - (sentNanos > 0 ? sentNanos : startNanos));
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new TimedEntity(entity, now));
+        } else {
+            finish();
+        }
+    }
+
+    /**
+     * 记录 TOTAL，只记录一次
+     */
+    void finish() {
+        if (!finished) {
+            finished = true;
+            record(HttpPhase.TOTAL, System.nanoTime() - startNanos);
+        }
+    }
+
+    void failed(IOException error) {
+        finished = true;
+        for (HttpEventListener listener : listeners) {
+            try {
+                listener.onFailure(route, error);
+            } catch (RuntimeException e) {
+                logger.warn("Event listener {} failed: {}", listener, e.toString());
+            }
+        }
+    }
+
+    /**
+     * 响应体读取完毕或关闭时记录 BODY_READ 及 TOTAL
+     */
+    private class TimedEntity extends HttpEntityWrapper {
+
+        private final long receivedNanos;
+        private boolean completed;
+
+        private TimedEntity(HttpEntity wrappedEntity, long receivedNanos) {
+            super(wrappedEntity);
+            this.receivedNanos = receivedNanos;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b < 0) {
+                        complete();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n < 0) {
+                        complete();
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        complete();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try {
+                super.writeTo(outStream);
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (!completed) {
+                completed = true;
+                record(HttpPhase.BODY_READ, System.nanoTime() - receivedNanos);
+                finish();
+            }
+        }
+    }
+}
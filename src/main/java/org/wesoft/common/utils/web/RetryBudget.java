@@ -0,0 +1,44 @@
+package org.wesoft.common.utils.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 重试预算，每个请求按比例存入额度，每次重试消耗一个额度，防止下游故障时重试放大流量
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:45
+ */
+class RetryBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio    每个请求存入的额度，如 0.2 表示重试数不超过请求数的 20%
+     * @param capacity 额度上限，同时也是初始额度
+     */
+    RetryBudget(double ratio, int capacity) {
+        this.deposit = (long) (ratio * UNIT);
+        this.capacity = capacity * UNIT;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, delta) -> Math.min(capacity, current + delta));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+}
@@ -0,0 +1,204 @@
+package org.wesoft.common.utils.web;
+
+import lombok.Builder;
+import lombok.Singular;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Servlet 请求辅助组件，用于过滤器等每个请求都会经过的位置
+ * <p>
+ * 客户端 IP 按 X-Forwarded-For 从右向左解析，只有来自受信任代理的转发记录才会被采纳，
+ * 客户端自行伪造的 X-Forwarded-For 不会影响结果；本机地址及主机名在首次使用时解析一次并缓存
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:19
+ */
+public class ServletRequestHelper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServletRequestHelper.class);
+
+    /** 默认信任的代理：回环、私有网络、运营商级 NAT 及链路本地地址 */
+    private static final List<String> DEFAULT_TRUSTED_PROXIES = Collections.unmodifiableList(Arrays.asList(
+            "127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "100.64.0.0/10", "169.254.0.0/16",
+            "::1/128", "fc00::/7", "fe80::/10"));
+
+    private final Cidr[] trustedProxies;
+    private final String forwardedForHeader;
+
+    /**
+     * @param trustedProxies     受信任的代理网段，如 10.0.0.0/8，未设置时使用回环及私有网络
+     * @param forwardedForHeader 代理写入客户端地址的请求头，默认为 X-Forwarded-For
+     */
+    @Builder
+    private ServletRequestHelper(@Singular List<String> trustedProxies, String forwardedForHeader) {
+        List<String> proxies = trustedProxies == null || trustedProxies.isEmpty() ? DEFAULT_TRUSTED_PROXIES : trustedProxies;
+        this.trustedProxies = new Cidr[proxies.size()];
+        for (int i = 0; i < proxies.size(); i++) {
+            this.trustedProxies[i] = Cidr.parse(proxies.get(i));
+        }
+        this.forwardedForHeader = forwardedForHeader != null ? forwardedForHeader : "X-Forwarded-For";
+    }
+
+    /**
+     * 获取客户端 IP
+     * <p>
+     * 直连地址不是受信任代理时直接返回直连地址；否则从 X-Forwarded-For 最右侧开始跳过受信任代理，返回第一个不受信任的地址。
+     * 遇到无法识别的记录（如 unknown）时停止，返回最后一个可信的地址；全部为受信任代理时返回最左侧的地址
+     *
+     * @param request 请求
+     * @return String
+     */
+    public String getClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (remoteAddr == null || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        Enumeration<String> headers = request.getHeaders(forwardedForHeader);
+        if (headers == null || !headers.hasMoreElements()) {
+            return remoteAddr;
+        }
+        // 多个同名请求头按顺序拼接，通常只有一个
+        String first = headers.nextElement();
+        List<String> rest = null;
+        while (headers.hasMoreElements()) {
+            if (rest == null) {
+                rest = new ArrayList<>(2);
+            }
+            rest.add(headers.nextElement());
+        }
+        String client = remoteAddr;
+        for (int i = rest == null ? 0 : rest.size(); i >= 0; i--) {
+            String header = i == 0 ? first : rest.get(i - 1);
+            int end = header.length();
+            while (end > 0) {
+                int comma = header.lastIndexOf(',', end - 1);
+                int from = comma + 1;
+                int to = end;
+                end = Math.max(comma, 0);
+                while (from < to && header.charAt(from) == ' ') {
+                    from++;
+                }
+                while (to > from && header.charAt(to - 1) == ' ') {
+                    to--;
+                }
+                if (from == to) {
+                    continue;
+                }
+                String address = stripPort(header, from, to);
+                if (address == null) {
+                    return client;
+                }
+                client = address;
+                if (!isTrustedProxy(address)) {
+                    return client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 去掉端口及方括号，如 1.2.3.4:80、[::1]:80
+     *
+     * @return 地址，不是 IP 字面量时返回 null
+     */
+    private static String stripPort(String s, int from, int to) {
+        if (s.charAt(from) == '[') {
+            int close = s.indexOf(']', from);
+            return close > from + 1 && close < to ? literal(s.substring(from + 1, close)) : null;
+        }
+        // 只有一个冒号时为 IPv4:port，多个冒号为 IPv6
+        int colon = s.indexOf(':', from);
+        if (colon >= 0 && colon < to && s.lastIndexOf(':', to - 1) == colon) {
+            to = colon;
+        }
+        return literal(s.substring(from, to));
+    }
+
+    private static String literal(String address) {
+        return Cidr.parseIpv4(address, 0, address.length()) >= 0 || Cidr.parseIpv6(address) != null ? address : null;
+    }
+
+    /**
+     * 是否为受信任的代理
+     *
+     * @param address IP 字面量
+     * @return 不是 IP 字面量时返回 false
+     */
+    private boolean isTrustedProxy(String address) {
+        long ipv4 = Cidr.parseIpv4(address, 0, address.length());
+        if (ipv4 < 0) {
+            byte[] ipv6 = Cidr.parseIpv6(address);
+            if (ipv6 == null) {
+                return false;
+            }
+            if (ipv6.length == 16) {
+                for (Cidr cidr : trustedProxies) {
+                    if (cidr.matches(ipv6)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            // IPv4 映射地址按 IPv4 匹配
+            ipv4 = (ipv6[0] & 0xffL) << 24 | (ipv6[1] & 0xff) << 16 | (ipv6[2] & 0xff) << 8 | ipv6[3] & 0xff;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.matches((int) ipv4)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取本机地址，首次调用时解析并缓存，解析失败时为空字符串
+     *
+     * @return String
+     */
+    public static String getHostAddress() {
+        return LocalHost.ADDRESS;
+    }
+
+    /**
+     * 获取本机主机名，首次调用时解析并缓存，解析失败时为空字符串
+     *
+     * @return String
+     */
+    public static String getHostName() {
+        return LocalHost.NAME;
+    }
+
+    /**
+     * 本机标识，InetAddress.getLocalHost() 可能因域名解析阻塞，只在首次使用时调用一次
+     */
+    private static class LocalHost {
+        private static final String ADDRESS;
+        private static final String NAME;
+
+        static {
+            String address = "";
+            String name = "";
+            try {
+                InetAddress inetAddress = InetAddress.getLocalHost();
+                address = inetAddress.getHostAddress();
+                name = inetAddress.getHostName();
+            } catch (UnknownHostException e) {
+                logger.error(e.getMessage(), e);
+            }
+            ADDRESS = address;
+            NAME = name;
+        }
+    }
+}
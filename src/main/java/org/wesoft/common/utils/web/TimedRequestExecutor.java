@@ -0,0 +1,42 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * 记录发送请求及等待响应头耗时的 HttpRequestExecutor，未启用计时的请求直接执行
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 18:06
+ */
+class TimedRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException, HttpException {
+        RequestTimer timer = RequestTimer.current();
+        if (timer == null) {
+            return super.doSendRequest(request, conn, context);
+        }
+        long start = System.nanoTime();
+        HttpResponse response = super.doSendRequest(request, conn, context);
+        timer.requestSent(System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context) throws HttpException, IOException {
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        RequestTimer timer = RequestTimer.current();
+        if (timer != null) {
+            timer.responseReceived(response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.FileBody;
+import org.apache.http.entity.mime.content.InputStreamBody;
+import org.apache.http.entity.mime.content.StringBody;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * multipart 上传的单个表单项，文件及输入流在发送时直接写入连接，不会读入内存
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:50
+ */
+public class UploadPart {
+
+    private final String name;
+    private final ContentBody body;
+    /** 输入流只能读取一次，包含输入流的请求不可重发 */
+    private final boolean repeatable;
+
+    private UploadPart(String name, ContentBody body, boolean repeatable) {
+        this.name = name;
+        this.body = body;
+        this.repeatable = repeatable;
+    }
+
+    /**
+     * 文件
+     *
+     * @param name 参数名
+     * @param path 文件路径
+     */
+    public static UploadPart file(String name, Path path) {
+        return file(name, path, ContentType.DEFAULT_BINARY);
+    }
+
+    /**
+     * 文件
+     *
+     * @param name        参数名
+     * @param path        文件路径
+     * @param contentType 文件类型
+     */
+    public static UploadPart file(String name, Path path, ContentType contentType) {
+        return new UploadPart(name, new FileBody(path.toFile(), contentType, path.getFileName().toString()), true);
+    }
+
+    /**
+     * 输入流，发送完毕后关闭
+     *
+     * @param name     参数名
+     * @param fileName 文件名称
+     * @param in       输入流
+     * @param length   长度，未知时为 -1，此时整个请求以 chunked 方式发送
+     */
+    public static UploadPart stream(String name, String fileName, InputStream in, long length) {
+        return stream(name, fileName, in, length, ContentType.DEFAULT_BINARY);
+    }
+
+    /**
+     * 输入流，发送完毕后关闭
+     *
+     * @param name        参数名
+     * @param fileName    文件名称
+     * @param in          输入流
+     * @param length      长度，未知时为 -1，此时整个请求以 chunked 方式发送
+     * @param contentType 文件类型
+     */
+    public static UploadPart stream(String name, String fileName, InputStream in, long length, ContentType contentType) {
+        return new UploadPart(name, length < 0 ? new InputStreamBody(in, contentType, fileName) : new SizedInputStreamBody(in, contentType, fileName, length), false);
+    }
+
+    /**
+     * 文本
+     *
+     * @param name  参数名
+     * @param value 值
+     */
+    public static UploadPart text(String name, String value) {
+        return new UploadPart(name, new StringBody(value, ContentType.create("text/plain", StandardCharsets.UTF_8)), true);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ContentBody getBody() {
+        return body;
+    }
+
+    boolean isRepeatable() {
+        return repeatable;
+    }
+
+    /**
+     * 已知长度的输入流，使请求可以带上 Content-Length
+     */
+    private static class SizedInputStreamBody extends InputStreamBody {
+
+        private final long length;
+
+        private SizedInputStreamBody(InputStream in, ContentType contentType, String fileName, long length) {
+            super(in, contentType, fileName);
+            this.length = length;
+        }
+
+        @Override
+        public long getContentLength() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getInputStream()) {
+                byte[] buffer = new byte[8192];
+                long remaining = length;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read == -1) {
+                        throw new EOFException("Stream ended " + remaining + " bytes before the declared length " + length);
+                    }
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }
+                out.flush();
+            }
+        }
+    }
+}
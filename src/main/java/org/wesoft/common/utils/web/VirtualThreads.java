@@ -0,0 +1,25 @@
+package org.wesoft.common.utils.web;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程执行器，基于 JDK 21 的虚拟线程
+ * <p>
+ * 此为 Java 8 版本，虚拟线程不可用；Java 21 及以上运行时由 META-INF/versions/21 中的实现替代
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:58
+ */
+class VirtualThreads {
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器，当前运行时不支持时返回 null
+     *
+     * @param prefix 线程名前缀
+     * @return ExecutorService
+     */
+    static ExecutorService newExecutor(String prefix) {
+        return null;
+    }
+}
@@ -0,0 +1,319 @@
+package org.wesoft.common.utils.web;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpProcessor;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/2 传输，基于 JDK 11 的 java.net.http.HttpClient
+ * <p>
+ * 同一主机的并发请求复用少量多路复用连接，服务端不支持 HTTP/2 时自动降级为 HTTP/1.1；
+ * 与同步客户端一样，请求拦截器处理请求的副本，响应拦截器在返回响应前执行
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:54
+ */
+class Http2Transport {
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final ProtocolVersion HTTP_1_1 = new ProtocolVersion("HTTP", 1, 1);
+
+    /** 超过该长度或长度未知的请求体通过管道流式发送 */
+    private static final long MAX_BUFFERED_BODY = 1024 * 1024;
+
+    private static final AtomicInteger WRITER_SEQUENCE = new AtomicInteger();
+
+    /** java.net.http 不允许设置的请求头 */
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning", "keep-alive"));
+
+    /** 写入流式请求体的线程，不占用公共线程池 */
+    private static final ExecutorService BODY_WRITER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "http-utils-h2-body-" + WRITER_SEQUENCE.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HttpClient client;
+    /** HttpUtilsConfig 中的请求及响应拦截器 */
+    private final HttpProcessor interceptors;
+
+    private Http2Transport(HttpClient client, HttpProcessor interceptors) {
+        this.client = client;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 创建 HTTP/2 传输，当前运行时不支持时返回 null
+     *
+     * @param connectTimeout 连接超时，单位：毫秒
+     * @param sslContext     与 HTTP/1.1 连接池共用的 SSLContext
+     * @param interceptors   请求及响应拦截器
+     * @return Http2Transport
+     */
+    static Http2Transport create(int connectTimeout, SSLContext sslContext, HttpProcessor interceptors) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(sslContext)
+                .build();
+        return new Http2Transport(client, interceptors);
+    }
+
+    CloseableHttpResponse execute(HttpRequestBase original) throws IOException {
+        // 拦截器处理副本，重试时不会重复添加请求头
+        HttpRequestWrapper request = HttpRequestWrapper.wrap(original);
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(HttpCoreContext.HTTP_TARGET_HOST, URIUtils.extractHost(original.getURI()));
+        context.setAttribute(HttpCoreContext.HTTP_REQUEST, request);
+        try {
+            interceptors.process(request, context);
+        } catch (HttpException e) {
+            throw new ClientProtocolException(e);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getURI());
+        RequestConfig config = original.getConfig();
+        if (config != null && config.getSocketTimeout() > 0) {
+            builder.timeout(Duration.ofMillis(config.getSocketTimeout()));
+        }
+        for (Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase())) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        StreamingBody streamingBody = null;
+        if (entity != null) {
+            if (entity.getContentType() != null && !request.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+                builder.header(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+            }
+            if (entity.getContentEncoding() != null && !request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+            }
+            long length = entity.getContentLength();
+            if (length >= 0 && length <= MAX_BUFFERED_BODY) {
+                // 通过 writeTo 写出，multipart 等实体的 getContent 有长度限制，进度监听也只在 writeTo 中回调
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) length);
+                entity.writeTo(buffer);
+                builder.method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray()));
+            } else {
+                streamingBody = new StreamingBody(entity);
+                builder.method(request.getMethod(), streamingBody.publisher(length));
+            }
+        } else {
+            builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> future = client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        StreamingBody body = streamingBody;
+        // abort() 取消进行中的请求，对冲请求中落败的一方由此中止
+        original.setCancellable(() -> {
+            if (body != null) {
+                body.close();
+            }
+            return future.cancel(true);
+        });
+        HttpResponse<InputStream> response;
+        try {
+            response = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            closeQuietly(body);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (CancellationException e) {
+            closeQuietly(body);
+            throw new RequestAbortedException("Request aborted");
+        } catch (ExecutionException e) {
+            closeQuietly(body);
+            Throwable cause = e.getCause();
+            if (body != null && body.failure != null) {
+                throw body.failure;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+        CloseableHttpResponse result = toHttpResponse(response, body);
+        context.setAttribute(HttpCoreContext.HTTP_RESPONSE, result);
+        try {
+            interceptors.process(result, context);
+        } catch (HttpException e) {
+            result.close();
+            throw new ClientProtocolException(e);
+        } catch (IOException | RuntimeException e) {
+            result.close();
+            throw e;
+        }
+        return result;
+    }
+
+    private static void closeQuietly(StreamingBody body) {
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    private static CloseableHttpResponse toHttpResponse(HttpResponse<InputStream> response, StreamingBody body) {
+        ProtocolVersion version = response.version() == HttpClient.Version.HTTP_2 ? HTTP_2 : HTTP_1_1;
+        Http2Response result = new Http2Response(version, response.statusCode(), body);
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(response.body());
+        entity.setContentLength(response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1));
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            // 跳过 :status 等伪首部
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                result.addHeader(header.getKey(), value);
+            }
+        }
+        response.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(entity::setContentType);
+        response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).ifPresent(entity::setContentEncoding);
+        result.setEntity(entity);
+        return result;
+    }
+
+    private static class Http2Response extends BasicHttpResponse implements CloseableHttpResponse {
+
+        /** 流式发送的请求体，响应关闭时一并释放，服务端提前响应时写入线程不会一直阻塞 */
+        private final StreamingBody body;
+
+        private Http2Response(ProtocolVersion version, int statusCode, StreamingBody body) {
+            super(version, statusCode, "");
+            this.body = body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeQuietly(body);
+            HttpEntity entity = getEntity();
+            if (entity != null) {
+                entity.getContent().close();
+            }
+        }
+    }
+
+    /**
+     * 通过管道流式发送的请求体，由专用线程调用 entity.writeTo 写入管道
+     * <p>
+     * 写入失败时关闭管道的读取端并记录异常，读取方得到异常而不是正常结束，长度未知的请求体不会被截断后当作完整请求发送；
+     * 请求失败、取消或响应关闭时同样关闭读取端，阻塞在管道上的写入线程随即退出
+     */
+    private static class StreamingBody {
+        private final HttpEntity entity;
+        private final PipedInputStream in = new PipedInputStream(64 * 1024);
+        private volatile IOException failure;
+
+        private StreamingBody(HttpEntity entity) {
+            this.entity = entity;
+        }
+
+        private HttpRequest.BodyPublisher publisher(long length) throws IOException {
+            PipedOutputStream out = new PipedOutputStream(in);
+            try {
+                BODY_WRITER.execute(() -> write(out));
+            } catch (RejectedExecutionException e) {
+                throw new IOException("Request body writer rejected", e);
+            }
+            HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        return checked(super.read());
+                    } catch (IOException e) {
+                        throw failure != null ? failure : e;
+                    }
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    try {
+                        return checked(super.read(b, off, len));
+                    } catch (IOException e) {
+                        throw failure != null ? failure : e;
+                    }
+                }
+            });
+            return length >= 0 ? HttpRequest.BodyPublishers.fromPublisher(publisher, length) : publisher;
+        }
+
+        private void write(PipedOutputStream out) {
+            try {
+                entity.writeTo(out);
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                fail(new IOException(e.getMessage(), e));
+            }
+        }
+
+        private int checked(int read) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            return read;
+        }
+
+        private void fail(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            close();
+        }
+
+        private void close() {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // PipedInputStream.close 不会抛出异常
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.wesoft.common.utils.web;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程执行器，基于 JDK 21 的虚拟线程
+ * <p>
+ * 阻塞调用只占用虚拟线程，不再占用平台线程，并发数只受连接池大小限制
+ *
+ * @author Eric Joe
+ * @version Ver 1.0
+ * @build 2026-10-18 17:58
+ */
+class VirtualThreads {
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器，当前运行时不支持时返回 null
+     *
+     * @param prefix 线程名前缀
+     * @return ExecutorService
+     */
+    static ExecutorService newExecutor(String prefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory());
+    }
+}